@@ -0,0 +1,27 @@
+package fr.eb.tournament.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for the planning result cache.
+ * Values are loaded from application.yml under 'planning.cache' prefix.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "planning.cache")
+public class PlanningCacheProperties {
+
+    /**
+     * Reuse finished plannings of identical configurations.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Cached plannings kept in database; the least recently used are evicted
+     * beyond that.
+     */
+    private int maxEntries = 100;
+}
@@ -0,0 +1,37 @@
+package fr.eb.tournament.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Configuration properties for asynchronous planning jobs.
+ * Values are loaded from application.yml under 'planning.jobs' prefix.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "planning.jobs")
+public class PlanningJobProperties {
+
+    /**
+     * Jobs optimised at the same time. Each job already uses the
+     * configured parallelism, so one is usually enough.
+     */
+    private int maxConcurrentJobs = 1;
+
+    /**
+     * Jobs waiting for a free slot. New jobs are rejected beyond that.
+     */
+    private int queueCapacity = 10;
+
+    /**
+     * Finished jobs are forgotten after this delay (in minutes).
+     */
+    private int retentionMinutes = 60;
+
+    /**
+     * Server-Sent-Events connections are closed after this delay (in minutes).
+     */
+    private int sseTimeoutMinutes = 30;
+}
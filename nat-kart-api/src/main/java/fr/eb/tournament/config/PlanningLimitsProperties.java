@@ -0,0 +1,23 @@
+package fr.eb.tournament.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * Server-side limits on client planning parameters.
+ * Values are loaded from application.yml under 'planning.limits' prefix.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "planning.limits")
+public class PlanningLimitsProperties {
+
+    /**
+     * Largest visitedStatesCapacity a request may ask for. Each restart
+     * (replica, island) allocates up to ~24 bytes per remembered planning,
+     * so 4 000 000 is about 100 MB per worker.
+     */
+    private int maxVisitedStatesCapacity = 4_000_000;
+}
@@ -0,0 +1,47 @@
+package fr.eb.tournament.controller;
+
+import fr.eb.tournament.dto.ReplanningRequest;
+import fr.eb.tournament.dto.TournamentPlanningDTO;
+import fr.eb.tournament.service.PlanningService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.net.URI;
+import java.util.List;
+
+/**
+ * Stored tournament plannings (see PlanningJobController for generation).
+ */
+@RestController
+@RequestMapping("/api/plannings")
+public class PlanningController {
+
+    private final PlanningService planningService;
+
+    public PlanningController(PlanningService planningService) {
+        this.planningService = planningService;
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<TournamentPlanningDTO> getPlanning(@PathVariable Long id) {
+        return ResponseEntity.ok(this.planningService.getPlanning(id));
+    }
+
+    /**
+     * Re-plans the unplayed sessions after players withdrew or joined. The
+     * result is stored as a new planning (Location header).
+     */
+    @PostMapping("/{id}/replan")
+    public ResponseEntity<TournamentPlanningDTO> replanPlanning(@PathVariable Long id,
+            @RequestBody ReplanningRequest request) {
+        Long replannedId = this.planningService.replanPlanning(id, request);
+        return ResponseEntity.created(URI.create("/api/plannings/" + replannedId))
+                .body(this.planningService.getPlanning(replannedId));
+    }
+
+    @GetMapping("/{id}/sessions/{sessionNumber}/consoles/{consoleId}/groupes/{groupeNumber}")
+    public ResponseEntity<List<Long>> getGroupe(@PathVariable Long id, @PathVariable int sessionNumber,
+            @PathVariable Long consoleId, @PathVariable int groupeNumber) {
+        return ResponseEntity.ok(this.planningService.getGroupe(id, sessionNumber, consoleId, groupeNumber));
+    }
+}
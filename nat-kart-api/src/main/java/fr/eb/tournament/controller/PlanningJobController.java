@@ -0,0 +1,44 @@
+package fr.eb.tournament.controller;
+
+import fr.eb.tournament.dto.PlanningJobDTO;
+import fr.eb.tournament.dto.TournamentRequest;
+import fr.eb.tournament.service.PlanningJobService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Asynchronous tournament planning generation: a job is created, then
+ * polled or followed through Server-Sent-Events until its result is ready.
+ */
+@RestController
+@RequestMapping("/api/planning-jobs")
+public class PlanningJobController {
+
+    private final PlanningJobService planningJobService;
+
+    public PlanningJobController(PlanningJobService planningJobService) {
+        this.planningJobService = planningJobService;
+    }
+
+    @PostMapping
+    public ResponseEntity<PlanningJobDTO> createJob(@RequestBody TournamentRequest request) {
+        return ResponseEntity.accepted().body(this.planningJobService.createJob(request)); // 202 Accepted
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<PlanningJobDTO> getJob(@PathVariable String id) {
+        return ResponseEntity.ok(this.planningJobService.getJob(id));
+    }
+
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamJob(@PathVariable String id) {
+        return this.planningJobService.subscribe(id);
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<PlanningJobDTO> cancelJob(@PathVariable String id) {
+        return ResponseEntity.ok(this.planningJobService.cancelJob(id));
+    }
+}
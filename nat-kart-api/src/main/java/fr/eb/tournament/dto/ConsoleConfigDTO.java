@@ -14,7 +14,11 @@ import lombok.NoArgsConstructor;
 public class ConsoleConfigDTO {
     private Long consoleId; // ID of the console (links to ConsoleDTO)
     private int joueursParPartie; // Players per game (3 or 4)
+    private Integer nbGroupes; // Parallel groups the console hosts (null = one per console of the tournament)
 
-    // Note: nbGroupes = nbConsoles (derived, not stored)
     // Note: couleur from ConsoleDTO (for display only)
+
+    public ConsoleConfigDTO(Long consoleId, int joueursParPartie) {
+        this(consoleId, joueursParPartie, null);
+    }
 }
@@ -0,0 +1,24 @@
+package fr.eb.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of an asynchronous planning job.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanningJobDTO {
+    private String id; // Job ID (UUID)
+    private PlanningJobStatus status; // Current status
+    private LocalDateTime createdAt; // Submission time
+    private LocalDateTime finishedAt; // End time, null while pending or running
+    private PlanningProgressDTO progress; // Last progress, null before the first report
+    private TournamentPlanningDTO result; // Planning once completed (or cancelled after a first result)
+    private Long planningId; // Stored planning (see /api/plannings), null without result
+    private String error; // Failure message, null unless FAILED
+}
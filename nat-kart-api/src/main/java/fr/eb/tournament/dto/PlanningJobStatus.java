@@ -0,0 +1,16 @@
+package fr.eb.tournament.dto;
+
+/**
+ * Lifecycle of an asynchronous planning job.
+ */
+public enum PlanningJobStatus {
+    PENDING, // Waiting for a free executor slot
+    RUNNING, // Optimisation in progress
+    COMPLETED, // Result available
+    CANCELLED, // Stopped on request (result = best planning found before, if any)
+    FAILED; // Optimisation error (see error)
+
+    public boolean isFinished() {
+        return this != PENDING && this != RUNNING;
+    }
+}
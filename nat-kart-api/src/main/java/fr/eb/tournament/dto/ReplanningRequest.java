@@ -0,0 +1,30 @@
+package fr.eb.tournament.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Parameters for re-planning a stored planning when players withdraw or
+ * join during the event. Not a persistent DTO, just input parameters for
+ * the algorithm.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplanningRequest {
+    private List<ConsoleConfigDTO> consoles; // Console configurations of the planning
+    private Integer nbPlayedSessions; // Sessions already played, kept as they are
+    private List<Long> withdrawnPlayerIds = List.of(); // Players leaving the event
+    private List<Long> newPlayerIds = List.of(); // Players joining the event
+
+    // Optional algorithm parameters (with defaults)
+    private Integer nbIterations = 20_000; // Search iterations (default: 20 000)
+    private Integer displayInterval = 500; // Display interval (default: 500)
+    private Long timeBudgetMs = 500L; // Best planning found within this time (default: 500, 0 = no limit)
+    private Integer earlyStoppingThreshold = 1; // Stop if max encounters <= N (default: 1)
+    private Integer lateAcceptanceLength = 5; // Late acceptance history length (default: 5)
+    private Long seed = null; // Same seed and parameters, same planning (default: null = random)
+}
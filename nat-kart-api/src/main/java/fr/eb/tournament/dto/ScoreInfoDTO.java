@@ -17,4 +17,6 @@ public class ScoreInfoDTO {
     private int collisions; // Number of repeated encounters
     private int maxRencontres; // Maximum encounters between any two players
     private Map<Integer, Integer> distribution; // Distribution: encounters count → number of pairs
+    private double lowerBound; // Lowest score reachable with these group sizes
+    private double optimalityGap; // (score - lowerBound) / lowerBound, 0 = provably optimal
 }
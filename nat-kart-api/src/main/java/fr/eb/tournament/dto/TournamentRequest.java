@@ -1,5 +1,9 @@
 package fr.eb.tournament.dto;
 
+import fr.eb.tournament.util.planning.CoolingSchedule;
+import fr.eb.tournament.util.planning.InitialPlanningMode;
+import fr.eb.tournament.util.planning.OptimizationStrategy;
+import fr.eb.tournament.util.planning.VisitedStatesMode;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -16,10 +20,32 @@ import java.util.List;
 public class TournamentRequest {
     private List<Long> playerIds; // IDs of participating players
     private List<ConsoleConfigDTO> consoles; // Console configurations
+    private Integer nbSessions = 0; // Sessions of the event (default: 0 = fewest that seat every player)
 
     // Optional algorithm parameters (with defaults)
     private Integer nbRelances = 3; // Number of restarts (default: 3)
     private Integer nbIterationsParRelance = 5000; // Iterations per restart (default: 5000)
     private Integer displayInterval = 500; // Display interval (default: 500)
     private Integer earlyStoppingThreshold = 1; // Stop if max encounters <= N (default: 1)
+    private VisitedStatesMode visitedStatesMode = VisitedStatesMode.HASH_SET; // Tested plannings memory (default: HASH_SET)
+    private Integer visitedStatesCapacity = 1_000_000; // Max remembered plannings per restart (default: 1 000 000)
+    private Double visitedStatesFalsePositiveRate = 0.01; // BLOOM false-positive rate (default: 0.01)
+    private InitialPlanningMode initialPlanningMode = InitialPlanningMode.RANDOM; // Initial planning (default: RANDOM)
+    private Integer parallelism = 0; // Worker threads for restarts (default: 0 = all cores)
+    private Long timeBudgetMs = 0L; // Best planning found within this time, e.g. 2000 (default: 0 = no limit)
+    private Long seed = null; // Same seed and parameters, same planning (default: null = random)
+    private Boolean constructiveDesign = true; // Skip search for social-golfer shapes (default: true)
+    private OptimizationStrategy strategy = OptimizationStrategy.LATE_ACCEPTANCE; // Local search (default: LATE_ACCEPTANCE)
+    private Double annealingStartTemperature = 0.0; // Annealing start temperature (default: 0 = calibrated)
+    private Double annealingEndTemperature = 0.0; // Annealing end temperature (default: 0 = calibrated)
+    private CoolingSchedule coolingSchedule = CoolingSchedule.GEOMETRIC; // Annealing cooling (default: GEOMETRIC)
+    private Integer tabuTenure = 10; // Tabu search tenure in iterations (default: 10)
+    private Integer temperingReplicas = 0; // Parallel tempering replicas (default: 0 = parallelism)
+    private Integer temperingExchangeInterval = 100; // Iterations between replica exchanges (default: 100)
+    private Integer lateAcceptanceLength = 5; // Late acceptance history length (default: 5)
+    private Integer geneticIslands = 0; // Genetic algorithm islands (default: 0 = parallelism)
+    private Integer geneticPopulationSize = 20; // Plannings per island (default: 20)
+    private Integer geneticMigrationInterval = 10; // Generations between migrations (default: 10)
+    private Integer geneticLocalIterations = 100; // Swap moves tried on each child (default: 100)
+    private Boolean useCache = true; // Reuse the planning of an identical configuration (default: true)
 }
@@ -0,0 +1,80 @@
+package fr.eb.tournament.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing a cached planning result.
+ * The planning is stored with player indices and canonical console indices
+ * (see PlanningCacheService), so it can be reused for any request with the
+ * same configuration, whatever its player and console IDs.
+ */
+@Entity
+@Table(name = "planning_cache")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanningCacheEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * SHA-256 of the canonical configuration (hex).
+     */
+    @Column(nullable = false, unique = true, length = 64)
+    private String cacheKey;
+
+    /**
+     * Canonical configuration, kept readable for debugging.
+     */
+    @Lob
+    @Column(nullable = false)
+    private String canonicalConfig;
+
+    /**
+     * Groups as "session.console.groupe=player,player,..." entries separated
+     * by ';' (1-based player indices, canonical console indices).
+     */
+    @Lob
+    @Column(nullable = false)
+    private String groupes;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(nullable = false)
+    private Integer collisions;
+
+    @Column(nullable = false)
+    private Integer maxRencontres;
+
+    /**
+     * Encounter distribution as "encounters=pairs" entries separated by ','.
+     */
+    @Column(nullable = false, length = 500)
+    private String distribution;
+
+    @Column(nullable = false)
+    private Double lowerBound;
+
+    @Column(nullable = false)
+    private Double optimalityGap;
+
+    @Column(nullable = false)
+    private Integer hitCount = 0;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    /**
+     * Last store or hit: the least recently used entries are evicted first.
+     */
+    @Column(nullable = false)
+    private LocalDateTime lastUsedAt;
+}
@@ -0,0 +1,75 @@
+package fr.eb.tournament.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * JPA Entity representing a generated tournament planning.
+ * The whole planning (player/console IDs and groups) is a compact binary
+ * blob (see PlanningMapper), so reloading it is a single-row read. Score
+ * summary and algorithm parameters are kept as columns; PlanningSeatEntity
+ * indexes the seats for group queries.
+ */
+@Entity
+@Table(name = "planning")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class PlanningEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer nbJoueurs;
+
+    @Column(nullable = false)
+    private Integer nbConsoles;
+
+    @Column(nullable = false)
+    private Integer nbSessions;
+
+    /**
+     * Encoded planning: varint player indices per seat, see PlanningMapper.
+     */
+    @Lob
+    @Column(nullable = false)
+    private byte[] data;
+
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(nullable = false)
+    private Integer collisions;
+
+    @Column(nullable = false)
+    private Integer maxRencontres;
+
+    @Column(nullable = false)
+    private Double lowerBound;
+
+    @Column(nullable = false)
+    private Double optimalityGap;
+
+    /**
+     * Algorithm parameters of the generation (canonical configuration).
+     */
+    @Lob
+    @Column(nullable = false)
+    private String parameters;
+
+    /**
+     * Timestamp when this planning was generated.
+     */
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
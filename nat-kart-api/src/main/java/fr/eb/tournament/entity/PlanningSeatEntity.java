@@ -0,0 +1,47 @@
+package fr.eb.tournament.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JPA Entity indexing the seats of a stored planning: one row per player
+ * per session, so a group or a player schedule is found without decoding
+ * the planning.
+ */
+@Entity
+@Table(name = "planning_seat", indexes = {
+        @Index(name = "idx_planning_seat_group", columnList = "planning_id, session_number, console_id, groupe_number"),
+        @Index(name = "idx_planning_seat_player", columnList = "planning_id, player_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanningSeatEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Planning of this seat.
+     * When a planning is deleted, its seats are automatically deleted (CASCADE).
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "planning_id", nullable = false)
+    @org.hibernate.annotations.OnDelete(action = org.hibernate.annotations.OnDeleteAction.CASCADE)
+    private PlanningEntity planning;
+
+    @Column(name = "session_number", nullable = false)
+    private Integer sessionNumber;
+
+    @Column(name = "console_id", nullable = false)
+    private Long consoleId;
+
+    @Column(name = "groupe_number", nullable = false)
+    private Integer groupeNumber;
+
+    @Column(name = "player_id", nullable = false)
+    private Long playerId;
+}
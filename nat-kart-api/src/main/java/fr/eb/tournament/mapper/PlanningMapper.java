@@ -0,0 +1,238 @@
+package fr.eb.tournament.mapper;
+
+import fr.eb.tournament.dto.ScoreInfoDTO;
+import fr.eb.tournament.dto.TournamentPlanningDTO;
+import fr.eb.tournament.entity.PlanningEntity;
+import fr.eb.tournament.entity.PlanningSeatEntity;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+/**
+ * Mapper between TournamentPlanningDTO and the stored planning.
+ *
+ * The planning is encoded as a sequence of unsigned varints (7 bits per
+ * byte, high bit = more bytes follow):
+ * <pre>
+ * version
+ * nbJoueurs, playerId × nbJoueurs
+ * nbConsoles, consoleId × nbConsoles
+ * nbSessions, then per session and console (header order):
+ *     nbGroupes, then per group: groupeNumber, size, player index (1-based) × size
+ * nbDistribution, then (encounters, pairs) × nbDistribution
+ * </pre>
+ * Player indices stay below 128 for any realistic tournament, so a seat
+ * costs one byte.
+ */
+@Component
+public class PlanningMapper {
+
+    private static final int FORMAT_VERSION = 1;
+
+    /**
+     * Converts a generated planning to a PlanningEntity (without ID).
+     *
+     * @param playerIds  Players of the request, in index order
+     * @param planning   The generated planning
+     * @param parameters Algorithm parameters of the generation
+     * @return The planning entity
+     */
+    public PlanningEntity toEntity(List<Long> playerIds, TournamentPlanningDTO planning, String parameters) {
+        ScoreInfoDTO scoreInfo = planning.getScoreInfo();
+        PlanningEntity entity = new PlanningEntity();
+        entity.setNbJoueurs(playerIds.size());
+        entity.setNbConsoles(consoleIds(planning).size());
+        entity.setNbSessions(planning.getSessions().size());
+        entity.setData(encode(playerIds, planning));
+        entity.setScore(scoreInfo.getScore());
+        entity.setCollisions(scoreInfo.getCollisions());
+        entity.setMaxRencontres(scoreInfo.getMaxRencontres());
+        entity.setLowerBound(scoreInfo.getLowerBound());
+        entity.setOptimalityGap(scoreInfo.getOptimalityGap());
+        entity.setParameters(parameters);
+        return entity;
+    }
+
+    /**
+     * Decodes a stored planning.
+     *
+     * @param entity The planning entity
+     * @return The planning DTO
+     */
+    public TournamentPlanningDTO toDTO(PlanningEntity entity) {
+        Reader reader = new Reader(entity.getData());
+        int version = reader.nextInt();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("Unsupported planning format version: " + version);
+        }
+
+        long[] playerIds = new long[reader.nextInt()];
+        for (int i = 0; i < playerIds.length; i++) {
+            playerIds[i] = reader.next();
+        }
+        long[] consoleIds = new long[reader.nextInt()];
+        for (int c = 0; c < consoleIds.length; c++) {
+            consoleIds[c] = reader.next();
+        }
+
+        int nbSessions = reader.nextInt();
+        List<TournamentPlanningDTO.SessionDTO> sessions = new ArrayList<>(nbSessions);
+        for (int s = 0; s < nbSessions; s++) {
+            List<TournamentPlanningDTO.ConsoleSessionDTO> consoles = new ArrayList<>(consoleIds.length);
+            for (long consoleId : consoleIds) {
+                int nbGroupes = reader.nextInt();
+                List<TournamentPlanningDTO.GroupeDTO> groupes = new ArrayList<>(nbGroupes);
+                for (int g = 0; g < nbGroupes; g++) {
+                    int groupeNumber = reader.nextInt();
+                    Long[] players = new Long[reader.nextInt()];
+                    for (int seat = 0; seat < players.length; seat++) {
+                        players[seat] = playerIds[reader.nextInt() - 1];
+                    }
+                    groupes.add(new TournamentPlanningDTO.GroupeDTO(groupeNumber, List.of(players)));
+                }
+                consoles.add(new TournamentPlanningDTO.ConsoleSessionDTO(consoleId, groupes));
+            }
+            sessions.add(new TournamentPlanningDTO.SessionDTO(s + 1, consoles));
+        }
+
+        Map<Integer, Integer> distribution = new HashMap<>();
+        int nbDistribution = reader.nextInt();
+        for (int i = 0; i < nbDistribution; i++) {
+            distribution.put(reader.nextInt(), reader.nextInt());
+        }
+
+        ScoreInfoDTO scoreInfo = new ScoreInfoDTO(entity.getScore(), entity.getCollisions(),
+                entity.getMaxRencontres(), distribution, entity.getLowerBound(), entity.getOptimalityGap());
+        return new TournamentPlanningDTO(sessions, scoreInfo);
+    }
+
+    /**
+     * One seat row per player per session, for group and player lookups.
+     *
+     * @param entity   The saved planning entity
+     * @param planning The planning DTO
+     * @return The seats of the planning
+     */
+    public List<PlanningSeatEntity> toSeats(PlanningEntity entity, TournamentPlanningDTO planning) {
+        List<PlanningSeatEntity> seats = new ArrayList<>();
+        for (TournamentPlanningDTO.SessionDTO session : planning.getSessions()) {
+            for (TournamentPlanningDTO.ConsoleSessionDTO console : session.getConsoles()) {
+                for (TournamentPlanningDTO.GroupeDTO groupe : console.getGroupes()) {
+                    for (Long playerId : groupe.getPlayerIds()) {
+                        seats.add(new PlanningSeatEntity(null, entity, session.getSessionNumber(),
+                                console.getConsoleId(), groupe.getGroupeNumber(), playerId));
+                    }
+                }
+            }
+        }
+        return seats;
+    }
+
+    // ══════════════════════════════════════════════════════════════════════
+    // ENCODING
+    // ══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Encodes the planning (see class comment for the layout).
+     */
+    public byte[] encode(List<Long> playerIds, TournamentPlanningDTO planning) {
+        Map<Long, Integer> playerIndex = new HashMap<>();
+        for (int i = 0; i < playerIds.size(); i++) {
+            playerIndex.put(playerIds.get(i), i + 1);
+        }
+        List<Long> consoleIds = consoleIds(planning);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeVarint(out, FORMAT_VERSION);
+        writeVarint(out, playerIds.size());
+        playerIds.forEach(id -> writeVarint(out, id));
+        writeVarint(out, consoleIds.size());
+        consoleIds.forEach(id -> writeVarint(out, id));
+
+        writeVarint(out, planning.getSessions().size());
+        for (TournamentPlanningDTO.SessionDTO session : planning.getSessions()) {
+            Map<Long, TournamentPlanningDTO.ConsoleSessionDTO> consoles = new HashMap<>();
+            session.getConsoles().forEach(console -> consoles.put(console.getConsoleId(), console));
+
+            for (Long consoleId : consoleIds) {
+                TournamentPlanningDTO.ConsoleSessionDTO console = consoles.get(consoleId);
+                List<TournamentPlanningDTO.GroupeDTO> groupes = console != null ? console.getGroupes() : List.of();
+                writeVarint(out, groupes.size());
+                for (TournamentPlanningDTO.GroupeDTO groupe : groupes) {
+                    writeVarint(out, groupe.getGroupeNumber());
+                    writeVarint(out, groupe.getPlayerIds().size());
+                    for (Long playerId : groupe.getPlayerIds()) {
+                        Integer index = playerIndex.get(playerId);
+                        if (index == null) {
+                            throw new IllegalArgumentException("Player " + playerId + " is not part of the planning");
+                        }
+                        writeVarint(out, index);
+                    }
+                }
+            }
+        }
+
+        Map<Integer, Integer> distribution = planning.getScoreInfo().getDistribution();
+        writeVarint(out, distribution.size());
+        distribution.forEach((encounters, pairs) -> {
+            writeVarint(out, encounters);
+            writeVarint(out, pairs);
+        });
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Console IDs in order of first appearance.
+     */
+    private static List<Long> consoleIds(TournamentPlanningDTO planning) {
+        Set<Long> consoleIds = new LinkedHashSet<>();
+        for (TournamentPlanningDTO.SessionDTO session : planning.getSessions()) {
+            session.getConsoles().forEach(console -> consoleIds.add(console.getConsoleId()));
+        }
+        return List.copyOf(consoleIds);
+    }
+
+    private static void writeVarint(ByteArrayOutputStream out, long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Negative value cannot be encoded: " + value);
+        }
+        while (value >= 0x80) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * Sequential varint reader over an encoded planning.
+     */
+    private static class Reader {
+        private final byte[] data;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+        }
+
+        long next() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                if (position >= data.length) {
+                    throw new IllegalStateException("Truncated planning data");
+                }
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint in planning data");
+        }
+
+        int nextInt() {
+            return Math.toIntExact(next());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package fr.eb.tournament.repository;
+
+import fr.eb.tournament.entity.PlanningCacheEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for PlanningCache entities.
+ */
+@Repository
+public interface PlanningCacheRepository extends JpaRepository<PlanningCacheEntity, Long> {
+
+    /**
+     * Find a cached planning by configuration key.
+     *
+     * @param cacheKey SHA-256 of the canonical configuration
+     * @return Optional containing the cached planning if found
+     */
+    Optional<PlanningCacheEntity> findByCacheKey(String cacheKey);
+
+    /**
+     * Find the least recently used cached planning (next to evict).
+     *
+     * @return Optional containing the entry if the cache is not empty
+     */
+    Optional<PlanningCacheEntity> findFirstByOrderByLastUsedAtAsc();
+}
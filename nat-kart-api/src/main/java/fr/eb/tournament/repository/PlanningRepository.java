@@ -0,0 +1,12 @@
+package fr.eb.tournament.repository;
+
+import fr.eb.tournament.entity.PlanningEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for Planning entities.
+ */
+@Repository
+public interface PlanningRepository extends JpaRepository<PlanningEntity, Long> {
+}
@@ -0,0 +1,36 @@
+package fr.eb.tournament.repository;
+
+import fr.eb.tournament.entity.PlanningSeatEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for PlanningSeat entities.
+ * Provides the group and player lookups of stored plannings.
+ */
+@Repository
+public interface PlanningSeatRepository extends JpaRepository<PlanningSeatEntity, Long> {
+
+    /**
+     * Find the seats of a group.
+     *
+     * @param planningId    The planning ID
+     * @param sessionNumber The session number (1-based)
+     * @param consoleId     The console ID
+     * @param groupeNumber  The group number (1-based)
+     * @return Seats of the group
+     */
+    List<PlanningSeatEntity> findByPlanning_IdAndSessionNumberAndConsoleIdAndGroupeNumberOrderById(
+            Long planningId, Integer sessionNumber, Long consoleId, Integer groupeNumber);
+
+    /**
+     * Find the seats of a player, by session.
+     *
+     * @param planningId The planning ID
+     * @param playerId   The player ID
+     * @return Seats of the player, one per session
+     */
+    List<PlanningSeatEntity> findByPlanning_IdAndPlayerIdOrderBySessionNumber(Long planningId, Long playerId);
+}
@@ -0,0 +1,265 @@
+package fr.eb.tournament.service;
+
+import fr.eb.tournament.config.PlanningCacheProperties;
+import fr.eb.tournament.dto.*;
+import fr.eb.tournament.entity.PlanningCacheEntity;
+import fr.eb.tournament.repository.PlanningCacheRepository;
+import fr.eb.tournament.util.planning.Console;
+import fr.eb.tournament.util.planning.TournamentConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Cache of finished plannings, persisted in database.
+ *
+ * Entries are keyed by a canonical form of the configuration: player count,
+ * console shapes (joueursParPartie × nbGroupes, sorted) and algorithm
+ * parameters. Player and console IDs are not part of the key: plannings are
+ * stored with player indices (position in the request) and canonical console
+ * indices, and remapped onto the IDs of the request that reuses them.
+ */
+@Service
+@Slf4j
+public class PlanningCacheService {
+
+    private final PlanningCacheRepository planningCacheRepository;
+    private final TournamentService tournamentService;
+    private final PlanningCacheProperties properties;
+
+    public PlanningCacheService(PlanningCacheRepository planningCacheRepository,
+            TournamentService tournamentService, PlanningCacheProperties properties) {
+        this.planningCacheRepository = planningCacheRepository;
+        this.tournamentService = tournamentService;
+        this.properties = properties;
+    }
+
+    /**
+     * Cached planning of the request configuration, remapped onto its player
+     * and console IDs.
+     */
+    @Transactional
+    public Optional<TournamentPlanningDTO> find(TournamentRequest request) {
+        if (!isEnabled(request)) {
+            return Optional.empty();
+        }
+        TournamentConfig config = tournamentService.toTournamentConfig(request);
+
+        return planningCacheRepository.findByCacheKey(hash(canonicalKey(config))).map(entry -> {
+            entry.setHitCount(entry.getHitCount() + 1);
+            entry.setLastUsedAt(LocalDateTime.now());
+            planningCacheRepository.save(entry);
+            log.info("Planning cache hit for {} players on {} consoles", config.getNbJoueurs(),
+                    config.getConsoles().size());
+            return toPlanningDTO(entry, request, config);
+        });
+    }
+
+    /**
+     * Stores a finished planning of the request, evicting the least recently
+     * used entries beyond maxEntries.
+     */
+    @Transactional
+    public void put(TournamentRequest request, TournamentPlanningDTO planning) {
+        if (!isEnabled(request)) {
+            return;
+        }
+        TournamentConfig config = tournamentService.toTournamentConfig(request);
+        String canonicalKey = canonicalKey(config);
+        LocalDateTime now = LocalDateTime.now();
+
+        PlanningCacheEntity entry = planningCacheRepository.findByCacheKey(hash(canonicalKey))
+                .orElseGet(PlanningCacheEntity::new);
+        if (entry.getId() == null) {
+            entry.setCacheKey(hash(canonicalKey));
+            entry.setCanonicalConfig(canonicalKey);
+            entry.setHitCount(0);
+            entry.setCreatedAt(now);
+        }
+        entry.setLastUsedAt(now);
+        entry.setGroupes(encodeGroupes(planning, request, config));
+
+        ScoreInfoDTO scoreInfo = planning.getScoreInfo();
+        entry.setScore(scoreInfo.getScore());
+        entry.setCollisions(scoreInfo.getCollisions());
+        entry.setMaxRencontres(scoreInfo.getMaxRencontres());
+        entry.setDistribution(scoreInfo.getDistribution().entrySet().stream()
+                .map(e -> e.getKey() + "=" + e.getValue())
+                .collect(Collectors.joining(",")));
+        entry.setLowerBound(scoreInfo.getLowerBound());
+        entry.setOptimalityGap(scoreInfo.getOptimalityGap());
+        planningCacheRepository.save(entry);
+
+        // Size-bounded: evict least recently used entries
+        long excess = planningCacheRepository.count() - Math.max(0, properties.getMaxEntries());
+        for (long i = 0; i < excess; i++) {
+            planningCacheRepository.findFirstByOrderByLastUsedAtAsc().ifPresent(planningCacheRepository::delete);
+        }
+    }
+
+    private boolean isEnabled(TournamentRequest request) {
+        return properties.isEnabled() && !Boolean.FALSE.equals(request.getUseCache());
+    }
+
+    // ══════════════════════════════════════════════════════════════════════
+    // CANONICAL CONFIGURATION
+    // ══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Canonical form of a configuration: identical for requests that only
+     * differ by their player/console IDs, the order of their consoles or
+     * their display interval.
+     */
+    static String canonicalKey(TournamentConfig config) {
+        String consoles = config.getConsoles().stream()
+                .map(PlanningCacheService::shape)
+                .sorted()
+                .collect(Collectors.joining(","));
+
+        return "joueurs=" + config.getNbJoueurs()
+                + ";consoles=[" + consoles + "]"
+                + ";sessions=" + config.getNbSessions()
+                + ";relances=" + config.getNbRelances()
+                + ";iterations=" + config.getNbIterationsParRelance()
+                + ";earlyStopping=" + config.getEarlyStoppingThreshold()
+                + ";visitedStates=" + config.getVisitedStatesMode()
+                + "/" + config.getVisitedStatesCapacity()
+                + "/" + config.getVisitedStatesFalsePositiveRate()
+                + ";initial=" + config.getInitialPlanningMode()
+                + ";parallelism=" + config.getParallelism()
+                + ";timeBudgetMs=" + config.getTimeBudgetMs()
+                + ";seed=" + config.getSeed()
+                + ";constructiveDesign=" + config.isConstructiveDesign()
+                + ";strategy=" + config.getStrategy()
+                + ";annealing=" + config.getAnnealingStartTemperature()
+                + "/" + config.getAnnealingEndTemperature()
+                + "/" + config.getCoolingSchedule()
+                + ";tabuTenure=" + config.getTabuTenure()
+                + ";tempering=" + config.getTemperingReplicas()
+                + "/" + config.getTemperingExchangeInterval()
+                + ";lateAcceptance=" + config.getLateAcceptanceLength()
+                + ";genetic=" + config.getGeneticIslands()
+                + "/" + config.getGeneticPopulationSize()
+                + "/" + config.getGeneticMigrationInterval()
+                + "/" + config.getGeneticLocalIterations();
+    }
+
+    private static String shape(Console console) {
+        return console.getJoueursParPartie() + "x" + console.getNbGroupes();
+    }
+
+    /**
+     * Request console indices in canonical order: sorted by shape, ties kept
+     * in request order (consoles of the same shape are interchangeable).
+     */
+    private static int[] canonicalOrder(TournamentConfig config) {
+        List<Console> consoles = config.getConsoles();
+        return IntStream.range(0, consoles.size()).boxed()
+                .sorted(Comparator.comparing((Integer i) -> shape(consoles.get(i))))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    private static String hash(String canonicalKey) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(canonicalKey.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // ══════════════════════════════════════════════════════════════════════
+    // REMAPPING
+    // ══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Groups with player IDs replaced by their 1-based index in the request
+     * and console IDs by their canonical index.
+     */
+    private static String encodeGroupes(TournamentPlanningDTO planning, TournamentRequest request,
+            TournamentConfig config) {
+        Map<Long, Integer> playerIndex = new HashMap<>();
+        for (int i = 0; i < request.getPlayerIds().size(); i++) {
+            playerIndex.put(request.getPlayerIds().get(i), i + 1);
+        }
+        int[] order = canonicalOrder(config);
+        Map<Long, Integer> consoleIndex = new HashMap<>();
+        for (int k = 0; k < order.length; k++) {
+            consoleIndex.put(request.getConsoles().get(order[k]).getConsoleId(), k);
+        }
+
+        StringJoiner groupes = new StringJoiner(";");
+        for (TournamentPlanningDTO.SessionDTO session : planning.getSessions()) {
+            for (TournamentPlanningDTO.ConsoleSessionDTO console : session.getConsoles()) {
+                for (TournamentPlanningDTO.GroupeDTO groupe : console.getGroupes()) {
+                    String players = groupe.getPlayerIds().stream()
+                            .map(id -> String.valueOf(playerIndex.get(id)))
+                            .collect(Collectors.joining(","));
+                    groupes.add(session.getSessionNumber() + "." + consoleIndex.get(console.getConsoleId())
+                            + "." + groupe.getGroupeNumber() + "=" + players);
+                }
+            }
+        }
+        return groupes.toString();
+    }
+
+    /**
+     * Rebuilds the planning of a cache entry with the player and console IDs
+     * of the request (consoles listed in request order).
+     */
+    private static TournamentPlanningDTO toPlanningDTO(PlanningCacheEntity entry, TournamentRequest request,
+            TournamentConfig config) {
+        // (session, canonical console) → groups, in stored order
+        Map<String, List<TournamentPlanningDTO.GroupeDTO>> groupesByConsole = new HashMap<>();
+        for (String encoded : entry.getGroupes().split(";")) {
+            String[] keyAndPlayers = encoded.split("=", 2);
+            String[] key = keyAndPlayers[0].split("\\.");
+            List<Long> playerIds = keyAndPlayers[1].isEmpty() ? List.of()
+                    : Arrays.stream(keyAndPlayers[1].split(","))
+                            .map(index -> request.getPlayerIds().get(Integer.parseInt(index) - 1))
+                            .toList();
+            groupesByConsole.computeIfAbsent(key[0] + "." + key[1], k -> new ArrayList<>())
+                    .add(new TournamentPlanningDTO.GroupeDTO(Integer.parseInt(key[2]), playerIds));
+        }
+
+        int[] order = canonicalOrder(config);
+        int[] canonicalIndex = new int[order.length];
+        for (int k = 0; k < order.length; k++) {
+            canonicalIndex[order[k]] = k;
+        }
+
+        List<TournamentPlanningDTO.SessionDTO> sessions = new ArrayList<>();
+        for (int s = 1; s <= config.getNbSessions(); s++) {
+            List<TournamentPlanningDTO.ConsoleSessionDTO> consoles = new ArrayList<>();
+            for (int i = 0; i < request.getConsoles().size(); i++) {
+                consoles.add(new TournamentPlanningDTO.ConsoleSessionDTO(
+                        request.getConsoles().get(i).getConsoleId(),
+                        groupesByConsole.getOrDefault(s + "." + canonicalIndex[i], List.of())));
+            }
+            sessions.add(new TournamentPlanningDTO.SessionDTO(s, consoles));
+        }
+
+        Map<Integer, Integer> distribution = new HashMap<>();
+        for (String pairs : entry.getDistribution().split(",")) {
+            if (pairs.isEmpty()) {
+                continue;
+            }
+            String[] countAndPairs = pairs.split("=");
+            distribution.put(Integer.parseInt(countAndPairs[0]), Integer.parseInt(countAndPairs[1]));
+        }
+        ScoreInfoDTO scoreInfo = new ScoreInfoDTO(entry.getScore(), entry.getCollisions(),
+                entry.getMaxRencontres(), distribution, entry.getLowerBound(), entry.getOptimalityGap());
+
+        return new TournamentPlanningDTO(sessions, scoreInfo);
+    }
+}
@@ -0,0 +1,292 @@
+package fr.eb.tournament.service;
+
+import fr.eb.tournament.config.PlanningJobProperties;
+import fr.eb.tournament.dto.*;
+import fr.eb.tournament.exception.ResourceNotFoundException;
+import fr.eb.tournament.util.planning.CancellationToken;
+import fr.eb.tournament.util.planning.PlanningProgress;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+/**
+ * Runs tournament planning generations as asynchronous jobs on a bounded
+ * executor, so that long optimisations do not hold HTTP requests open.
+ *
+ * Jobs are kept in memory: their progress can be polled or streamed as
+ * Server-Sent-Events ("progress" events, then one final event named after
+ * the job status, e.g. "completed", carrying the whole job).
+ *
+ * Plannings whose search ran to its end go to the PlanningCacheService (a
+ * search cut by the time budget depends on the machine speed, so it is not
+ * cached): a job whose configuration is cached completes immediately,
+ * without optimisation.
+ * Every result is stored by the PlanningService.
+ */
+@Service
+@Slf4j
+public class PlanningJobService {
+
+    private final TournamentService tournamentService;
+    private final PlanningCacheService planningCacheService;
+    private final PlanningService planningService;
+    private final PlanningJobProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, PlanningJob> jobs = new ConcurrentHashMap<>();
+
+    public PlanningJobService(TournamentService tournamentService, PlanningCacheService planningCacheService,
+            PlanningService planningService, PlanningJobProperties properties) {
+        this.tournamentService = tournamentService;
+        this.planningCacheService = planningCacheService;
+        this.planningService = planningService;
+        this.properties = properties;
+        int nbThreads = Math.max(1, properties.getMaxConcurrentJobs());
+        this.executor = new ThreadPoolExecutor(nbThreads, nbThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                Thread.ofPlatform().name("planning-job-", 1).factory());
+    }
+
+    /**
+     * Queues a planning generation.
+     *
+     * @return the new job, PENDING
+     * @throws RejectedExecutionException if the job queue is full
+     */
+    public PlanningJobDTO createJob(TournamentRequest request) {
+        removeExpiredJobs();
+
+        PlanningJob job = new PlanningJob(UUID.randomUUID().toString(), request);
+
+        Optional<TournamentPlanningDTO> cached = planningCacheService.find(request);
+        if (cached.isPresent()) {
+            // Registered once saved: a failing save leaves no job behind
+            job.planningId = planningService.savePlanning(request, cached.get());
+            job.finish(PlanningJobStatus.COMPLETED, cached.get(), null);
+            jobs.put(job.id, job);
+            log.info("Planning job {} served from cache", job.id);
+            return job.toDTO();
+        }
+
+        jobs.put(job.id, job);
+        job.task = new FutureTask<>(() -> run(job), null);
+        try {
+            executor.execute(job.task);
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+
+        log.info("Planning job {} created for {} players", job.id, request.getPlayerIds().size());
+        return job.toDTO();
+    }
+
+    public PlanningJobDTO getJob(String id) {
+        return findJob(id).toDTO();
+    }
+
+    /**
+     * Stops a job: a pending job is cancelled right away and leaves the
+     * queue, a running one ends with the best planning found so far.
+     */
+    public PlanningJobDTO cancelJob(String id) {
+        PlanningJob job = findJob(id);
+        if (job.cancel() && job.task != null) {
+            job.task.cancel(false);
+            executor.remove(job.task); // Frees its queue slot
+        }
+        log.info("Planning job {} cancelled", id);
+        return job.toDTO();
+    }
+
+    /**
+     * Opens a Server-Sent-Events stream of the job progress. The last
+     * progress is sent right away; a finished job only sends its final event.
+     */
+    public SseEmitter subscribe(String id) {
+        PlanningJob job = findJob(id);
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(properties.getSseTimeoutMinutes()).toMillis());
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobs.values().forEach(PlanningJob::cancel);
+        executor.shutdownNow();
+    }
+
+    private PlanningJob findJob(String id) {
+        PlanningJob job = jobs.get(id);
+        if (job == null) {
+            throw new ResourceNotFoundException("Planning job not found: " + id);
+        }
+        return job;
+    }
+
+    private void run(PlanningJob job) {
+        CancellationToken token = job.start();
+        if (token == null) {
+            return; // Cancelled while pending
+        }
+
+        try {
+            TournamentPlanningDTO result = tournamentService.generatePlanning(job.request, token, job::onProgress);
+            job.planningId = planningService.savePlanning(job.request, result);
+            if (job.cancelRequested) {
+                job.finish(PlanningJobStatus.CANCELLED, result, null);
+                return;
+            }
+            boolean budgetExpired = token.isCancelled(); // Not cancelled by the client: the time budget ran out
+            job.finish(PlanningJobStatus.COMPLETED, result, null);
+            if (!budgetExpired) {
+                planningCacheService.put(job.request, result);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Planning job {} failed: {}", job.id, e.getMessage());
+            job.finish(PlanningJobStatus.FAILED, null, e.getMessage());
+        } catch (Error e) {
+            // OutOfMemoryError, StackOverflowError...: the job must still end and release its subscribers
+            log.error("Planning job {} failed", job.id, e);
+            job.finish(PlanningJobStatus.FAILED, null, e.getClass().getSimpleName());
+        }
+    }
+
+    private void removeExpiredJobs() {
+        LocalDateTime limit = LocalDateTime.now().minusMinutes(properties.getRetentionMinutes());
+        jobs.values().removeIf(job -> job.finishedAt != null && job.finishedAt.isBefore(limit));
+    }
+
+    /**
+     * One planning generation and its SSE subscribers.
+     */
+    private static class PlanningJob {
+        private final String id;
+        private final TournamentRequest request;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+        private volatile PlanningJobStatus status = PlanningJobStatus.PENDING;
+        private volatile LocalDateTime finishedAt;
+        private volatile PlanningProgressDTO progress;
+        private volatile TournamentPlanningDTO result;
+        private volatile String error;
+        private volatile Long planningId;
+        private volatile boolean cancelRequested;
+        private volatile FutureTask<Void> task; // Queued run, null for jobs served from cache
+        private CancellationToken token; // Created when the job starts: the time budget starts then
+
+        PlanningJob(String id, TournamentRequest request) {
+            this.id = id;
+            this.request = request;
+        }
+
+        /**
+         * @return the cancellation token of the run, or null if the job was
+         *         cancelled before starting
+         */
+        synchronized CancellationToken start() {
+            if (cancelRequested) {
+                return null; // Already finished by cancel()
+            }
+            token = new CancellationToken(request.getTimeBudgetMs());
+            status = PlanningJobStatus.RUNNING;
+            return token;
+        }
+
+        /**
+         * @return true if the job was pending, now CANCELLED
+         */
+        synchronized boolean cancel() {
+            cancelRequested = true;
+            if (token != null) {
+                token.cancel();
+                return false;
+            }
+            if (status != PlanningJobStatus.PENDING) {
+                return false;
+            }
+            finish(PlanningJobStatus.CANCELLED, null, null);
+            return true;
+        }
+
+        void onProgress(PlanningProgress planningProgress) {
+            PlanningProgressDTO dto = new PlanningProgressDTO(
+                    planningProgress.getIterations(),
+                    planningProgress.getElapsedMs(),
+                    planningProgress.getIterationsPerSecond(),
+                    planningProgress.getBestScore(),
+                    planningProgress.getCollisions(),
+                    planningProgress.getMaxRencontres());
+            progress = dto;
+            for (SseEmitter emitter : emitters) {
+                send(emitter, "progress", dto);
+            }
+        }
+
+        synchronized void finish(PlanningJobStatus finalStatus, TournamentPlanningDTO finalResult, String finalError) {
+            result = finalResult;
+            error = finalError;
+            finishedAt = LocalDateTime.now();
+            status = finalStatus;
+
+            PlanningJobDTO dto = toDTO();
+            for (SseEmitter emitter : emitters) {
+                if (send(emitter, eventName(finalStatus), dto)) {
+                    emitter.complete();
+                }
+            }
+            emitters.clear();
+        }
+
+        synchronized void subscribe(SseEmitter emitter) {
+            if (status.isFinished()) {
+                if (send(emitter, eventName(status), toDTO())) {
+                    emitter.complete();
+                }
+                return;
+            }
+
+            emitter.onCompletion(() -> emitters.remove(emitter));
+            emitter.onTimeout(() -> emitters.remove(emitter));
+            emitter.onError(e -> emitters.remove(emitter));
+            emitters.add(emitter);
+
+            PlanningProgressDTO lastProgress = progress;
+            if (lastProgress != null) {
+                send(emitter, "progress", lastProgress);
+            }
+        }
+
+        PlanningJobDTO toDTO() {
+            return new PlanningJobDTO(id, status, createdAt, finishedAt, progress, result, planningId, error);
+        }
+
+        private static String eventName(PlanningJobStatus status) {
+            return status.name().toLowerCase(Locale.ROOT);
+        }
+
+        /**
+         * @return false if the client is gone (the emitter is then dropped)
+         */
+        private boolean send(SseEmitter emitter, String name, Object data) {
+            try {
+                emitter.send(SseEmitter.event().name(name).data(data));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitters.remove(emitter);
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
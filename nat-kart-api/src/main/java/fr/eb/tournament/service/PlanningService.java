@@ -0,0 +1,116 @@
+package fr.eb.tournament.service;
+
+import fr.eb.tournament.dto.ReplanningRequest;
+import fr.eb.tournament.dto.TournamentPlanningDTO;
+import fr.eb.tournament.dto.TournamentRequest;
+import fr.eb.tournament.entity.PlanningEntity;
+import fr.eb.tournament.entity.PlanningSeatEntity;
+import fr.eb.tournament.exception.ResourceNotFoundException;
+import fr.eb.tournament.mapper.PlanningMapper;
+import fr.eb.tournament.repository.PlanningRepository;
+import fr.eb.tournament.repository.PlanningSeatRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Service responsible for storing generated plannings, so they survive API
+ * restarts without running the optimiser again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlanningService {
+
+    private final PlanningRepository planningRepository;
+    private final PlanningSeatRepository planningSeatRepository;
+    private final PlanningMapper planningMapper;
+    private final TournamentService tournamentService;
+
+    /**
+     * Stores a generated planning and indexes its seats.
+     *
+     * @param request  The request the planning was generated for
+     * @param planning The generated planning
+     * @return ID of the stored planning
+     */
+    @Transactional
+    public Long savePlanning(TournamentRequest request, TournamentPlanningDTO planning) {
+        String parameters = PlanningCacheService.canonicalKey(tournamentService.toTournamentConfig(request));
+        return savePlanning(request.getPlayerIds(), planning, parameters);
+    }
+
+    /**
+     * Re-plans the unplayed sessions of a stored planning after players
+     * withdrew or joined, and stores the result as a new planning (the
+     * original one is kept).
+     *
+     * @param id      The planning ID
+     * @param request Played sessions, withdrawn and new players
+     * @return ID of the stored re-planned planning
+     * @throws ResourceNotFoundException if no planning has this ID
+     */
+    @Transactional
+    public Long replanPlanning(Long id, ReplanningRequest request) {
+        TournamentPlanningDTO replanned = tournamentService.replanPlanning(getPlanning(id), request);
+        String parameters = "replanning=" + id
+                + ";playedSessions=" + request.getNbPlayedSessions()
+                + ";withdrawn=" + request.getWithdrawnPlayerIds()
+                + ";joined=" + request.getNewPlayerIds()
+                + ";iterations=" + request.getNbIterations()
+                + ";timeBudgetMs=" + request.getTimeBudgetMs()
+                + ";seed=" + request.getSeed();
+        return savePlanning(TournamentService.playerIds(replanned), replanned, parameters);
+    }
+
+    private Long savePlanning(List<Long> playerIds, TournamentPlanningDTO planning, String parameters) {
+        PlanningEntity entity = planningRepository.save(planningMapper.toEntity(playerIds, planning, parameters));
+        planningSeatRepository.saveAll(planningMapper.toSeats(entity, planning));
+
+        log.info("Planning {} stored ({} bytes for {} players)", entity.getId(), entity.getData().length,
+                entity.getNbJoueurs());
+        return entity.getId();
+    }
+
+    /**
+     * Gets a stored planning.
+     *
+     * @param id The planning ID
+     * @return The planning
+     * @throws ResourceNotFoundException if no planning has this ID
+     */
+    @Transactional(readOnly = true)
+    public TournamentPlanningDTO getPlanning(Long id) {
+        return planningRepository.findById(id)
+                .map(planningMapper::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Planning not found: " + id));
+    }
+
+    /**
+     * Gets the players of one group of a stored planning.
+     *
+     * @param id            The planning ID
+     * @param sessionNumber The session number (1-based)
+     * @param consoleId     The console ID
+     * @param groupeNumber  The group number (1-based)
+     * @return Player IDs of the group
+     * @throws ResourceNotFoundException if the planning or the group does not exist
+     */
+    @Transactional(readOnly = true)
+    public List<Long> getGroupe(Long id, int sessionNumber, Long consoleId, int groupeNumber) {
+        List<Long> playerIds = planningSeatRepository
+                .findByPlanning_IdAndSessionNumberAndConsoleIdAndGroupeNumberOrderById(id, sessionNumber, consoleId,
+                        groupeNumber)
+                .stream()
+                .map(PlanningSeatEntity::getPlayerId)
+                .toList();
+        if (playerIds.isEmpty()) {
+            throw new ResourceNotFoundException("Group not found in planning " + id + ": session " + sessionNumber
+                    + ", console " + consoleId + ", group " + groupeNumber);
+        }
+        return playerIds;
+    }
+}
@@ -1,5 +1,6 @@
 package fr.eb.tournament.service;
 
+import fr.eb.tournament.config.PlanningLimitsProperties;
 import fr.eb.tournament.dto.*;
 import fr.eb.tournament.util.planning.*;
 import lombok.RequiredArgsConstructor;
@@ -7,6 +8,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
 /**
@@ -18,6 +20,8 @@ import java.util.stream.IntStream;
 @RequiredArgsConstructor
 public class TournamentService {
 
+    private final PlanningLimitsProperties limits;
+
     /**
      * Generates a tournament planning from a request.
      * 
@@ -25,6 +29,22 @@ public class TournamentService {
      * @return Tournament planning with sessions, groups, and player IDs
      */
     public TournamentPlanningDTO generatePlanning(TournamentRequest request) {
+        return generatePlanning(request, new CancellationToken(request.getTimeBudgetMs()), progress -> {
+        });
+    }
+
+    /**
+     * Generates a tournament planning that can be cancelled, reporting
+     * progress every displayInterval iterations. Once cancelled, the best
+     * planning found so far is returned.
+     *
+     * @param request  Tournament request with player IDs and console configs
+     * @param token    Cancellation of the optimisation (and its time budget)
+     * @param listener Progress listener, called from the optimisation threads
+     * @return Tournament planning with sessions, groups, and player IDs
+     */
+    public TournamentPlanningDTO generatePlanning(TournamentRequest request, CancellationToken token,
+            Consumer<PlanningProgress> listener) {
         log.info("Generating tournament planning for {} players on {} consoles",
                 request.getPlayerIds().size(), request.getConsoles().size());
 
@@ -33,22 +53,147 @@ public class TournamentService {
         Map<Long, Integer> playerIdToIndex = createPlayerIdMapping(request.getPlayerIds());
         Map<Long, Console> consoleIdToConsole = createConsoleMapping(request.getConsoles());
 
-        // 2. Run the planning algorithm
+        checkCapacity(request.getConsoles(), config);
+
+        // 2. Run the planning algorithm (restarts in parallel)
+        CompactPlanning planning = new PlanningOptimizer(config).optimize(token, new BestPlanningHolder(), listener);
+        if (planning == null) {
+            throw new IllegalArgumentException("Consoles cannot seat every player in every session");
+        }
         TournamentPlanningService planningService = new TournamentPlanningService(config);
-        Planning planning = generateBestPlanning(planningService, config);
+        if (!planningService.validatePlanning(planning)) {
+            throw new IllegalStateException("Generated planning does not respect the tournament constraints");
+        }
 
         // 3. Calculate final score
-        Map<String, Integer> encounters = planningService.calculateEncounters(planning);
+        EncounterMatrix encounters = planningService.calculateEncounters(planning);
         ScoreResult scoreResult = planningService.calculateScore(encounters);
 
         // 4. Convert result back to DTOs
-        return toPlanningDTO(planning, scoreResult, playerIdToIndex, consoleIdToConsole, config);
+        return toPlanningDTO(planning.toPlanning(), scoreResult, playerIdToIndex, consoleIdToConsole, config);
+    }
+
+    /**
+     * Re-plans the unplayed sessions of a planning after players withdrew or
+     * joined: played sessions are kept, the search starts from the current
+     * groups and the encounters already played (see WarmStartReplanner).
+     *
+     * @param current The current planning
+     * @param request Played sessions, withdrawn and new players
+     * @return The re-planned planning, scored over all its sessions
+     * @throws IllegalArgumentException if the request does not match the planning
+     */
+    public TournamentPlanningDTO replanPlanning(TournamentPlanningDTO current, ReplanningRequest request) {
+        if (request.getNbPlayedSessions() == null) {
+            throw new IllegalArgumentException("The number of played sessions is required");
+        }
+        List<Long> currentPlayerIds = playerIds(current);
+        Set<Long> known = new HashSet<>(currentPlayerIds);
+        for (Long playerId : request.getWithdrawnPlayerIds()) {
+            if (!known.contains(playerId)) {
+                throw new IllegalArgumentException("Player " + playerId + " is not part of the planning");
+            }
+        }
+        for (Long playerId : request.getNewPlayerIds()) {
+            if (!known.add(playerId)) {
+                throw new IllegalArgumentException("Player " + playerId + " already takes part in the planning");
+            }
+        }
+        log.info("Re-planning after session {}: {} players withdrawn, {} joined", request.getNbPlayedSessions(),
+                request.getWithdrawnPlayerIds().size(), request.getNewPlayerIds().size());
+
+        // 1. Convert DTOs to internal model, new players after the current ones
+        List<Long> playerIds = new ArrayList<>(currentPlayerIds);
+        playerIds.addAll(request.getNewPlayerIds());
+        Map<Long, Integer> playerIdToIndex = createPlayerIdMapping(playerIds);
+        Map<Long, Console> consoleIdToConsole = createConsoleMapping(request.getConsoles());
+        List<Console> consoles = request.getConsoles().stream()
+                .map(console -> consoleIdToConsole.get(console.getConsoleId()))
+                .toList();
+
+        TournamentConfig config = new TournamentConfig(playerIds.size(), 1, request.getNbIterations(), consoles,
+                request.getDisplayInterval(), request.getEarlyStoppingThreshold());
+        config.setNbSessions(current.getSessions().size());
+        config.setLateAcceptanceLength(request.getLateAcceptanceLength());
+        config.setSeed(request.getSeed());
+        checkCapacity(request.getConsoles(), config);
+        CompactPlanning planning = toCompactPlanning(current, config, playerIdToIndex, request.getConsoles());
+
+        // 2. Warm-start search on the unplayed sessions
+        Set<Integer> withdrawn = new HashSet<>();
+        request.getWithdrawnPlayerIds().forEach(id -> withdrawn.add(playerIdToIndex.get(id)));
+        List<Integer> newPlayers = request.getNewPlayerIds().stream().map(playerIdToIndex::get).toList();
+        CompactPlanning replanned = new WarmStartReplanner(config).replan(planning, request.getNbPlayedSessions(),
+                withdrawn, newPlayers, new CancellationToken(request.getTimeBudgetMs()));
+
+        // 3. Score over all sessions, played ones included
+        TournamentPlanningService planningService = new TournamentPlanningService(config);
+        ScoreResult scoreResult = planningService.calculateScore(planningService.calculateEncounters(replanned));
+
+        return toPlanningDTO(replanned.toPlanning(), scoreResult, playerIdToIndex, consoleIdToConsole, config);
+    }
+
+    /**
+     * Player IDs of a planning, in order of first appearance.
+     */
+    static List<Long> playerIds(TournamentPlanningDTO planning) {
+        Set<Long> playerIds = new LinkedHashSet<>();
+        for (TournamentPlanningDTO.SessionDTO session : planning.getSessions()) {
+            for (TournamentPlanningDTO.ConsoleSessionDTO console : session.getConsoles()) {
+                console.getGroupes().forEach(groupe -> playerIds.addAll(groupe.getPlayerIds()));
+            }
+        }
+        return List.copyOf(playerIds);
+    }
+
+    /**
+     * Converts a TournamentPlanningDTO back to the internal model.
+     *
+     * @throws IllegalArgumentException if a session, console or group does
+     *                                  not fit the configuration
+     */
+    private CompactPlanning toCompactPlanning(TournamentPlanningDTO planning, TournamentConfig config,
+            Map<Long, Integer> playerIdToIndex, List<ConsoleConfigDTO> consoleDTOs) {
+        Map<Long, Integer> consoleIndex = new HashMap<>();
+        for (int c = 0; c < consoleDTOs.size(); c++) {
+            consoleIndex.put(consoleDTOs.get(c).getConsoleId(), c);
+        }
+
+        CompactPlanning compact = new CompactPlanning(new PlanningLayout(config));
+        boolean[] sessionSeen = new boolean[config.getNbSessions()];
+        for (TournamentPlanningDTO.SessionDTO session : planning.getSessions()) {
+            int s = session.getSessionNumber() - 1;
+            if (s < 0 || s >= sessionSeen.length || sessionSeen[s]) {
+                throw new IllegalArgumentException("Session numbers must be 1 to " + sessionSeen.length
+                        + " without duplicates: " + session.getSessionNumber());
+            }
+            sessionSeen[s] = true;
+            for (TournamentPlanningDTO.ConsoleSessionDTO console : session.getConsoles()) {
+                Integer c = consoleIndex.get(console.getConsoleId());
+                if (c == null) {
+                    throw new IllegalArgumentException("Console " + console.getConsoleId() + " is missing");
+                }
+                for (TournamentPlanningDTO.GroupeDTO groupe : console.getGroupes()) {
+                    Console target = config.getConsoles().get(c);
+                    if (groupe.getGroupeNumber() < 1 || groupe.getGroupeNumber() > target.getNbGroupes()
+                            || groupe.getPlayerIds().size() > target.getJoueursParPartie()) {
+                        throw new IllegalArgumentException("Console " + console.getConsoleId()
+                                + " cannot hold group " + groupe.getGroupeNumber() + " of session "
+                                + session.getSessionNumber());
+                    }
+                    for (Long playerId : groupe.getPlayerIds()) {
+                        compact.addPlayer(c, s, groupe.getGroupeNumber() - 1, playerIdToIndex.get(playerId));
+                    }
+                }
+            }
+        }
+        return compact;
     }
 
     /**
      * Converts TournamentRequest to internal TournamentConfig.
      */
-    private TournamentConfig toTournamentConfig(TournamentRequest request) {
+    TournamentConfig toTournamentConfig(TournamentRequest request) {
         // Create Console objects from ConsoleConfigDTOs
         List<Console> consoles = IntStream.range(0, request.getConsoles().size())
                 .mapToObj(i -> {
@@ -56,18 +201,43 @@ public class TournamentService {
                     return new Console(
                             "Console " + (i + 1), // Name: Console 1, Console 2, etc.
                             configDTO.getJoueursParPartie(),
-                            request.getConsoles().size() // nbGroupes = nbConsoles
-                    );
+                            nbGroupes(configDTO, request.getConsoles().size()));
                 })
                 .toList();
 
-        return new TournamentConfig(
+        TournamentConfig config = new TournamentConfig(
                 request.getPlayerIds().size(),
                 request.getNbRelances(),
                 request.getNbIterationsParRelance(),
                 consoles,
                 request.getDisplayInterval(),
                 request.getEarlyStoppingThreshold());
+        config.setNbSessions(request.getNbSessions());
+        config.setVisitedStatesMode(request.getVisitedStatesMode());
+        if (request.getVisitedStatesCapacity() > limits.getMaxVisitedStatesCapacity()) {
+            throw new IllegalArgumentException("Visited states capacity must be at most "
+                    + limits.getMaxVisitedStatesCapacity() + ": " + request.getVisitedStatesCapacity());
+        }
+        config.setVisitedStatesCapacity(request.getVisitedStatesCapacity());
+        config.setVisitedStatesFalsePositiveRate(request.getVisitedStatesFalsePositiveRate());
+        config.setInitialPlanningMode(request.getInitialPlanningMode());
+        config.setParallelism(request.getParallelism());
+        config.setTimeBudgetMs(request.getTimeBudgetMs());
+        config.setSeed(request.getSeed());
+        config.setConstructiveDesign(request.getConstructiveDesign());
+        config.setStrategy(request.getStrategy());
+        config.setAnnealingStartTemperature(request.getAnnealingStartTemperature());
+        config.setAnnealingEndTemperature(request.getAnnealingEndTemperature());
+        config.setCoolingSchedule(request.getCoolingSchedule());
+        config.setTabuTenure(request.getTabuTenure());
+        config.setTemperingReplicas(request.getTemperingReplicas());
+        config.setTemperingExchangeInterval(request.getTemperingExchangeInterval());
+        config.setLateAcceptanceLength(request.getLateAcceptanceLength());
+        config.setGeneticIslands(request.getGeneticIslands());
+        config.setGeneticPopulationSize(request.getGeneticPopulationSize());
+        config.setGeneticMigrationInterval(request.getGeneticMigrationInterval());
+        config.setGeneticLocalIterations(request.getGeneticLocalIterations());
+        return config;
     }
 
     /**
@@ -91,80 +261,53 @@ public class TournamentService {
             Console console = new Console(
                     "Console " + (i + 1),
                     dto.getJoueursParPartie(),
-                    consoleDTOs.size());
+                    nbGroupes(dto, consoleDTOs.size()));
             mapping.put(dto.getConsoleId(), console);
         }
         return mapping;
     }
 
     /**
-     * Runs the planning algorithm with multiple restarts.
+     * Groups a console hosts in parallel: its own nbGroupes, or one per
+     * console of the tournament when not given.
      */
-    private Planning generateBestPlanning(TournamentPlanningService service, TournamentConfig config) {
-        Planning bestPlanning = null;
-        double bestScore = Double.MAX_VALUE;
-
-        for (int relance = 1; relance <= config.getNbRelances(); relance++) {
-            log.debug("Starting restart {}/{}", relance, config.getNbRelances());
-
-            // Generate initial planning
-            Planning planning = service.generateInitialPlanning();
-
-            // Validate
-            if (!service.validatePlanning(planning)) {
-                log.warn("Invalid initial planning for restart {}, skipping", relance);
-                continue;
-            }
-
-            // Calculate initial score
-            Map<String, Integer> encounters = service.calculateEncounters(planning);
-            ScoreResult scoreObj = service.calculateScore(encounters);
-
-            Planning currentBest = planning;
-            double currentBestScore = scoreObj.getScore();
-            Set<String> testedHashes = new HashSet<>();
-            testedHashes.add(service.getPlanningHash(planning));
-
-            // Optimization loop
-            for (int i = 0; i < config.getNbIterationsParRelance(); i++) {
-                // Random swap
-                Planning newPlanning = new Random().nextBoolean()
-                        ? service.swap1IntraSession(currentBest)
-                        : service.swap2InterSessions(currentBest, encounters, new Random().nextInt(100) < 70);
-
-                if (service.validatePlanning(newPlanning)) {
-                    String hash = service.getPlanningHash(newPlanning);
-
-                    if (!testedHashes.contains(hash)) {
-                        testedHashes.add(hash);
-
-                        Map<String, Integer> newEncounters = service.calculateEncounters(newPlanning);
-                        ScoreResult newScore = service.calculateScore(newEncounters);
-
-                        if (newScore.getScore() < currentBestScore) {
-                            currentBest = newPlanning;
-                            currentBestScore = newScore.getScore();
-                            encounters = newEncounters;
-
-                            // Early stopping
-                            if (newScore.getMaxRencontres() <= config.getEarlyStoppingThreshold()) {
-                                log.info("Optimal score reached in restart {}", relance);
-                                return currentBest;
-                            }
-                        }
-                    }
-                }
-            }
+    private static int nbGroupes(ConsoleConfigDTO dto, int nbConsoles) {
+        if (dto.getNbGroupes() == null) {
+            return nbConsoles;
+        }
+        if (dto.getNbGroupes() < 1) {
+            throw new IllegalArgumentException("Console " + dto.getConsoleId() + " must host at least one group");
+        }
+        return dto.getNbGroupes();
+    }
 
-            // Update global best
-            if (currentBestScore < bestScore) {
-                bestPlanning = currentBest;
-                bestScore = currentBestScore;
+    /**
+     * Every player plays every console once, at most one game per session:
+     * there are at least as many sessions as consoles, and each console
+     * seats every player over the sessions. A smaller console cannot be
+     * compensated by a larger one, only by more sessions (players sitting
+     * some out, see SessionSizing).
+     *
+     * @throws IllegalArgumentException naming the first console too small
+     */
+    private static void checkCapacity(List<ConsoleConfigDTO> consoleDTOs, TournamentConfig config) {
+        int nbSessions = config.getNbSessions();
+        if (nbSessions < consoleDTOs.size()) {
+            throw new IllegalArgumentException("Every player plays " + consoleDTOs.size()
+                    + " consoles, " + nbSessions + " sessions are too few");
+        }
+        int playersPerSession = (config.getNbJoueurs() + nbSessions - 1) / nbSessions;
+        for (int i = 0; i < consoleDTOs.size(); i++) {
+            Console console = config.getConsoles().get(i);
+            if (console.getCapacity() < playersPerSession) {
+                int nbSessionsNeeded = SessionSizing.minimumSessions(config.getNbJoueurs(), List.of(console));
+                throw new IllegalArgumentException("Console " + consoleDTOs.get(i).getConsoleId()
+                        + " seats " + console.getCapacity() + " players per session ("
+                        + console.getNbGroupes() + " groups of " + console.getJoueursParPartie() + "), "
+                        + playersPerSession + " needed over " + nbSessions + " sessions; "
+                        + "it seats everyone in " + nbSessionsNeeded + " sessions");
             }
         }
-
-        log.info("Planning generation completed with score: {}", bestScore);
-        return bestPlanning;
     }
 
     /**
@@ -215,7 +358,9 @@ public class TournamentService {
                 scoreResult.getScore(),
                 scoreResult.getCollisions(),
                 scoreResult.getMaxRencontres(),
-                scoreResult.getDistribution());
+                scoreResult.getDistribution(),
+                scoreResult.getLowerBound(),
+                scoreResult.getOptimalityGap());
 
         return new TournamentPlanningDTO(sessions, scoreInfo);
     }
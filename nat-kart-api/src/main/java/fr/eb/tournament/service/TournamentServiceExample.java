@@ -1,5 +1,6 @@
 package fr.eb.tournament.service;
 
+import fr.eb.tournament.config.PlanningLimitsProperties;
 import fr.eb.tournament.dto.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -37,7 +38,7 @@ public class TournamentServiceExample {
         request.setEarlyStoppingThreshold(1);
 
         // 4. Generate planning
-        TournamentService service = new TournamentService();
+        TournamentService service = new TournamentService(new PlanningLimitsProperties());
         TournamentPlanningDTO planning = service.generatePlanning(request);
 
         // 5. Display result
@@ -46,8 +47,9 @@ public class TournamentServiceExample {
         System.out.println("╚═══════════════════════════════════════════════════╝\n");
 
         ScoreInfoDTO score = planning.getScoreInfo();
-        System.out.printf("Score: %.0f | Collisions: %d | Max rencontres: %d%n",
-                score.getScore(), score.getCollisions(), score.getMaxRencontres());
+        System.out.printf("Score: %.0f | Collisions: %d | Max rencontres: %d | Gap: %.1f%%%n",
+                score.getScore(), score.getCollisions(), score.getMaxRencontres(),
+                score.getOptimalityGap() * 100);
 
         for (TournamentPlanningDTO.SessionDTO session : planning.getSessions()) {
             System.out.println("\nSession " + session.getSessionNumber() + ":");
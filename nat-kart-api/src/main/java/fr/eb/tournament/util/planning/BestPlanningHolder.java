@@ -0,0 +1,50 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.Getter;
+
+/**
+ * Best planning found so far, shared by concurrent optimisation workers.
+ * Offered plannings are copied, so workers keep mutating their own state.
+ */
+public class BestPlanningHolder {
+    private CompactPlanning planning;
+    private EncounterMatrix encounters;
+    @Getter
+    private volatile double score = Double.MAX_VALUE;
+
+    /**
+     * Keeps a copy of the planning if it beats the current best.
+     *
+     * @return true if it became the new best
+     */
+    public synchronized boolean offer(CompactPlanning candidate, EncounterMatrix candidateEncounters) {
+        if (candidateEncounters.getScore() >= score) {
+            return false;
+        }
+        planning = candidate.copy();
+        encounters = candidateEncounters.copy();
+        score = candidateEncounters.getScore();
+        return true;
+    }
+
+    /**
+     * Keeps a copy of the planning if it beats or ties the current best:
+     * the final pick among equally good plannings, whatever arrived first.
+     */
+    public synchronized void offerFinal(CompactPlanning candidate, EncounterMatrix candidateEncounters) {
+        if (candidateEncounters.getScore() > score) {
+            return;
+        }
+        planning = candidate.copy();
+        encounters = candidateEncounters.copy();
+        score = candidateEncounters.getScore();
+    }
+
+    public synchronized CompactPlanning getPlanning() {
+        return planning;
+    }
+
+    public synchronized EncounterMatrix getEncounters() {
+        return encounters;
+    }
+}
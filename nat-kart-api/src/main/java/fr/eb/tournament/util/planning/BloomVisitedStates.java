@@ -0,0 +1,66 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.Arrays;
+
+/**
+ * Bloom filter over planning hashes. Memory is fixed by the expected number
+ * of states and the target false-positive rate; a false positive only makes
+ * the optimizer skip a planning it never tested.
+ */
+public class BloomVisitedStates implements VisitedStates {
+    private final long[] bits;
+    private final long nbBits;
+    private final int nbHashes;
+    private int size;
+
+    public BloomVisitedStates(int expectedStates, double falsePositiveRate) {
+        if (expectedStates < 1) {
+            throw new IllegalArgumentException("Visited states capacity must be positive");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1 (exclusive)");
+        }
+
+        // Optimal sizing: m = -n ln(p) / ln(2)², k = m/n ln(2)
+        double ln2 = Math.log(2);
+        long m = (long) Math.ceil(-expectedStates * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.nbBits = Math.max(64, m);
+        this.nbHashes = Math.max(1, (int) Math.round((double) nbBits / expectedStates * ln2));
+        this.bits = new long[(int) ((nbBits + 63) / 64)];
+    }
+
+    @Override
+    public boolean add(long hash) {
+        // Double hashing: bit i = h1 + i × h2 (Kirsch–Mitzenmacher)
+        long mixed = VisitedStates.mix(hash);
+        long h1 = mixed & 0xFFFFFFFFL;
+        long h2 = mixed >>> 32;
+        boolean added = false;
+
+        for (int i = 0; i < nbHashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, nbBits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                added = true;
+            }
+        }
+
+        if (added) {
+            size++;
+        }
+        return added;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bits, 0L);
+        size = 0;
+    }
+}
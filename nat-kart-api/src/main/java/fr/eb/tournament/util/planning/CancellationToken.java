@@ -0,0 +1,42 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cooperative cancellation of a planning optimisation, polled by the local
+ * searches at every iteration: set by cancel() or once the wall-clock time
+ * budget has run out.
+ */
+public class CancellationToken implements BooleanSupplier {
+    private final long deadline; // System.nanoTime() value, only meaningful with a budget
+    private final boolean hasDeadline;
+    private volatile boolean cancelled;
+
+    /**
+     * Token without time budget, only cancelled explicitly.
+     */
+    public CancellationToken() {
+        this(0);
+    }
+
+    /**
+     * @param timeBudgetMs wall-clock budget starting now (0 = none)
+     */
+    public CancellationToken(long timeBudgetMs) {
+        this.hasDeadline = timeBudgetMs > 0;
+        this.deadline = hasDeadline ? System.nanoTime() + timeBudgetMs * 1_000_000 : 0;
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled || (hasDeadline && System.nanoTime() - deadline >= 0);
+    }
+
+    @Override
+    public boolean getAsBoolean() {
+        return isCancelled();
+    }
+}
@@ -0,0 +1,86 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.Arrays;
+
+/**
+ * Primitive open-addressing set of long hashes (linear probing), growing up
+ * to a maximum number of entries. When the cap is reached the set is cleared
+ * and starts remembering again, so memory never exceeds ~16 bytes per entry.
+ */
+public class CappedLongHashSet implements VisitedStates {
+    static final int MAX_CAPACITY = 1 << 28;
+    private static final int INITIAL_TABLE_SIZE = 1024;
+    private static final long EMPTY = 0L; // 0 marks a free cell
+    private static final long ZERO_SUBSTITUTE = 0x9E3779B97F4A7C15L; // Stored in place of hash 0
+
+    private final int capacity;
+    private long[] table;
+    private int size;
+
+    public CappedLongHashSet(int capacity) {
+        if (capacity < 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Visited states capacity must be between 1 and " + MAX_CAPACITY);
+        }
+        this.capacity = capacity;
+        this.table = new long[Math.min(INITIAL_TABLE_SIZE, tableSizeFor(capacity))];
+    }
+
+    @Override
+    public boolean add(long hash) {
+        long key = hash == EMPTY ? ZERO_SUBSTITUTE : hash;
+        int mask = table.length - 1;
+        int idx = (int) VisitedStates.mix(key) & mask;
+
+        while (table[idx] != EMPTY) {
+            if (table[idx] == key) {
+                return false;
+            }
+            idx = (idx + 1) & mask;
+        }
+
+        if (size >= capacity) {
+            clear();
+            return add(hash);
+        }
+
+        table[idx] = key;
+        size++;
+        if (size * 2 > table.length && table.length < tableSizeFor(capacity)) {
+            grow();
+        }
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, EMPTY);
+        size = 0;
+    }
+
+    private void grow() {
+        long[] old = table;
+        table = new long[old.length * 2];
+        int mask = table.length - 1;
+        for (long key : old) {
+            if (key != EMPTY) {
+                int idx = (int) VisitedStates.mix(key) & mask;
+                while (table[idx] != EMPTY) {
+                    idx = (idx + 1) & mask;
+                }
+                table[idx] = key;
+            }
+        }
+    }
+
+    /**
+     * Smallest power of two keeping the load factor at or below 1/2.
+     */
+    static int tableSizeFor(int capacity) {
+        return Integer.highestOneBit(Math.max(1, capacity - 1)) << 2;
+    }
+}
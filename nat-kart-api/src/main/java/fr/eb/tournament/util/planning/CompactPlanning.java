@@ -0,0 +1,233 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.Getter;
+
+import java.util.*;
+
+/**
+ * Primitive planning representation used by the optimizer.
+ * One int[] holds every seat (indexed by console/session/groupe/seat, see
+ * PlanningLayout) and a second int[] holds the number of players per group.
+ * Player ids are 1-based, 0 marks an empty seat.
+ *
+ * A reverse index (player, session) → seat and a 64-bit Zobrist hash over
+ * (player, console, session, groupe) are kept up to date by addPlayer and
+ * swapSlots, so locating a player or hashing the planning never scans it.
+ * Seat order inside a group does not change the hash.
+ *
+ * Planning remains the Map-based view exposed to callers (see toPlanning()).
+ */
+public class CompactPlanning {
+    @Getter
+    private final PlanningLayout layout;
+    private final int[] slots; // Player id per seat
+    private final int[] groupSizes; // Number of players per group
+    private final int[] positions; // (player, session) → seat, -1 if absent
+    @Getter
+    private long hash; // Zobrist hash, see PlanningLayout.zobristKey
+
+    public CompactPlanning(PlanningLayout layout) {
+        this.layout = layout;
+        this.slots = new int[layout.getNbSlots()];
+        this.groupSizes = new int[layout.getNbGroupesTotal()];
+        this.positions = new int[(layout.getNbJoueurs() + 1) * layout.getNbSessions()];
+        Arrays.fill(positions, -1);
+    }
+
+    private CompactPlanning(CompactPlanning other) {
+        this.layout = other.layout;
+        this.slots = other.slots.clone();
+        this.groupSizes = other.groupSizes.clone();
+        this.positions = other.positions.clone();
+        this.hash = other.hash;
+    }
+
+    /**
+     * Deep copy of the planning.
+     */
+    public CompactPlanning copy() {
+        return new CompactPlanning(this);
+    }
+
+    /**
+     * Overwrites this planning with another one of the same layout, without
+     * allocating.
+     */
+    public void copyFrom(CompactPlanning other) {
+        System.arraycopy(other.slots, 0, slots, 0, slots.length);
+        System.arraycopy(other.groupSizes, 0, groupSizes, 0, groupSizes.length);
+        System.arraycopy(other.positions, 0, positions, 0, positions.length);
+        hash = other.hash;
+    }
+
+    /**
+     * Appends a player to a group (used while building a planning).
+     */
+    public void addPlayer(int console, int session, int groupe, int player) {
+        int group = layout.groupIndex(console, session, groupe);
+        int slot = layout.slotIndex(group, groupSizes[group]);
+        slots[slot] = player;
+        groupSizes[group]++;
+        index(player, slot);
+        hash ^= layout.zobristKey(player, group);
+    }
+
+    public int getGroupSize(int console, int session, int groupe) {
+        return groupSizes[layout.groupIndex(console, session, groupe)];
+    }
+
+    public int getPlayer(int console, int session, int groupe, int seat) {
+        return slots[layout.slotIndex(layout.groupIndex(console, session, groupe), seat)];
+    }
+
+    /**
+     * Number of players in a group, by flat group index.
+     */
+    public int groupSizeAt(int group) {
+        return groupSizes[group];
+    }
+
+    /**
+     * Player on a seat, by flat slot index.
+     */
+    public int playerAt(int slot) {
+        return slots[slot];
+    }
+
+    /**
+     * Seat (flat slot index) of a player in a session, or -1 if the player
+     * does not play in that session.
+     */
+    public int slotOf(int player, int session) {
+        return positions[player * layout.getNbSessions() + session];
+    }
+
+    /**
+     * Exchanges the players sitting on two seats.
+     */
+    public void swapSlots(int slotA, int slotB) {
+        int a = slots[slotA];
+        int b = slots[slotB];
+        slots[slotA] = b;
+        slots[slotB] = a;
+
+        unindex(a, slotA);
+        unindex(b, slotB);
+        index(a, slotB);
+        index(b, slotA);
+
+        hash ^= exchangeHashDelta(a, slotA, b, slotB);
+    }
+
+    /**
+     * Hash this planning would have after exchanging the players of the given
+     * seat pairs (the seats must all be distinct), without modifying it.
+     */
+    public long hashAfter(SwapMove move) {
+        long result = hash;
+        for (int e = 0; e < move.getNbExchanges(); e++) {
+            int slotA = move.getSlotA(e);
+            int slotB = move.getSlotB(e);
+            result ^= exchangeHashDelta(slots[slotA], slotA, slots[slotB], slotB);
+        }
+        return result;
+    }
+
+    private long exchangeHashDelta(int a, int slotA, int b, int slotB) {
+        int groupA = layout.groupOfSlot(slotA);
+        int groupB = layout.groupOfSlot(slotB);
+        if (groupA == groupB) {
+            return 0;
+        }
+        return layout.zobristKey(a, groupA) ^ layout.zobristKey(a, groupB)
+                ^ layout.zobristKey(b, groupB) ^ layout.zobristKey(b, groupA);
+    }
+
+    /**
+     * Zobrist hash recomputed from scratch (reference for the incremental one).
+     */
+    public long computeHash() {
+        long result = 0;
+        for (int group = 0; group < groupSizes.length; group++) {
+            for (int seat = 0; seat < groupSizes[group]; seat++) {
+                result ^= layout.zobristKey(slots[layout.slotIndex(group, seat)], group);
+            }
+        }
+        return result;
+    }
+
+    private void index(int player, int slot) {
+        if (player > 0 && player <= layout.getNbJoueurs()) {
+            positions[player * layout.getNbSessions() + sessionOfSlot(slot)] = slot;
+        }
+    }
+
+    private void unindex(int player, int slot) {
+        if (player > 0 && player <= layout.getNbJoueurs()) {
+            int idx = player * layout.getNbSessions() + sessionOfSlot(slot);
+            if (positions[idx] == slot) {
+                positions[idx] = -1;
+            }
+        }
+    }
+
+    private int sessionOfSlot(int slot) {
+        return layout.sessionOfGroup(layout.groupOfSlot(slot));
+    }
+
+    // ══════════════════════════════════════════════════════════════════════
+    // CONVERSION
+    // ══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Builds the Map-based Planning view of this planning.
+     */
+    public Planning toPlanning() {
+        Planning planning = new Planning();
+
+        for (int c = 0; c < layout.getNbConsoles(); c++) {
+            Console console = layout.getConsole(c);
+            Map<Integer, List<List<Integer>>> sessions = new HashMap<>();
+
+            for (int s = 0; s < layout.getNbSessions(); s++) {
+                List<List<Integer>> groupes = new ArrayList<>();
+
+                for (int g = 0; g < console.getNbGroupes(); g++) {
+                    int size = getGroupSize(c, s, g);
+                    List<Integer> groupe = new ArrayList<>(size);
+                    for (int seat = 0; seat < size; seat++) {
+                        groupe.add(getPlayer(c, s, g, seat));
+                    }
+                    groupes.add(groupe);
+                }
+
+                sessions.put(s, groupes);
+            }
+
+            planning.getStructure().put(console.getNom(), sessions);
+        }
+
+        return planning;
+    }
+
+    /**
+     * Builds a CompactPlanning from the Map-based Planning view.
+     */
+    public static CompactPlanning fromPlanning(PlanningLayout layout, Planning planning) {
+        CompactPlanning compact = new CompactPlanning(layout);
+
+        for (int c = 0; c < layout.getNbConsoles(); c++) {
+            Console console = layout.getConsole(c);
+            for (int s = 0; s < layout.getNbSessions(); s++) {
+                List<List<Integer>> groupes = planning.getSessionGroupes(console.getNom(), s);
+                for (int g = 0; g < groupes.size(); g++) {
+                    for (Integer player : groupes.get(g)) {
+                        compact.addPlayer(c, s, g, player);
+                    }
+                }
+            }
+        }
+
+        return compact;
+    }
+}
@@ -22,4 +22,11 @@ public class Console {
         this.nbGroupes = nbGroupes;
         this.couleur = "Gray"; // Default color
     }
+
+    /**
+     * Players seated at once: joueursParPartie × nbGroupes.
+     */
+    public int getCapacity() {
+        return joueursParPartie * nbGroupes;
+    }
 }
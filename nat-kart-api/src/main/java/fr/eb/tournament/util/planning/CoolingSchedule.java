@@ -0,0 +1,20 @@
+package fr.eb.tournament.util.planning;
+
+/**
+ * Temperature decrease of simulated annealing, from the start temperature at
+ * the first iteration to the end temperature at the last one.
+ */
+public enum CoolingSchedule {
+    GEOMETRIC, // T = T0 × (Tend / T0)^progress
+    LINEAR; // T = T0 + (Tend - T0) × progress
+
+    /**
+     * Temperature at a given progress (0 = first iteration, 1 = last one).
+     */
+    public double temperature(double startTemperature, double endTemperature, double progress) {
+        return switch (this) {
+            case GEOMETRIC -> startTemperature * Math.pow(endTemperature / startTemperature, progress);
+            case LINEAR -> startTemperature + (endTemperature - startTemperature) * progress;
+        };
+    }
+}
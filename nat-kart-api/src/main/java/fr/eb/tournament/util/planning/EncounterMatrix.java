@@ -0,0 +1,208 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.*;
+
+/**
+ * Encounter counts between all player pairs, stored as a packed upper
+ * triangular int[] (player ids are 1-based).
+ *
+ * The distribution of counts and the cubic penalty are kept up to date on
+ * every increment/decrement, so scoring a planning no longer needs a pass
+ * over all pairs.
+ */
+public class EncounterMatrix {
+    public static final double PENALTY_FACTOR = 100; // Score = Σ count³ × PENALTY_FACTOR
+
+    private final int nbJoueurs;
+    private final int[] counts; // Pair (i < j) → number of encounters
+    private int[] histogram; // Number of encounters → number of pairs
+    private long cubicSum; // Σ count³ over all pairs
+
+    public EncounterMatrix(int nbJoueurs) {
+        this.nbJoueurs = nbJoueurs;
+        this.counts = new int[nbJoueurs * (nbJoueurs - 1) / 2];
+        this.histogram = new int[4];
+        this.histogram[0] = counts.length;
+    }
+
+    private EncounterMatrix(EncounterMatrix other) {
+        this.nbJoueurs = other.nbJoueurs;
+        this.counts = other.counts.clone();
+        this.histogram = other.histogram.clone();
+        this.cubicSum = other.cubicSum;
+    }
+
+    public EncounterMatrix copy() {
+        return new EncounterMatrix(this);
+    }
+
+    /**
+     * Overwrites this matrix with another one of the same size.
+     */
+    public void copyFrom(EncounterMatrix other) {
+        System.arraycopy(other.counts, 0, counts, 0, counts.length);
+        if (histogram.length != other.histogram.length) {
+            histogram = other.histogram.clone();
+        } else {
+            System.arraycopy(other.histogram, 0, histogram, 0, histogram.length);
+        }
+        cubicSum = other.cubicSum;
+    }
+
+    public int getNbJoueurs() {
+        return nbJoueurs;
+    }
+
+    /**
+     * Packed index of pair (p1, p2), in any order.
+     */
+    private int index(int p1, int p2) {
+        int a = Math.min(p1, p2) - 1;
+        int b = Math.max(p1, p2) - 1;
+        return a * (2 * nbJoueurs - a - 1) / 2 + (b - a - 1);
+    }
+
+    public int get(int p1, int p2) {
+        return counts[index(p1, p2)];
+    }
+
+    public void increment(int p1, int p2) {
+        int idx = index(p1, p2);
+        int count = counts[idx];
+        if (count + 1 >= histogram.length) {
+            histogram = Arrays.copyOf(histogram, histogram.length * 2);
+        }
+        histogram[count]--;
+        histogram[count + 1]++;
+        counts[idx] = count + 1;
+        cubicSum += 3L * count * count + 3L * count + 1; // (c+1)³ - c³
+    }
+
+    public void decrement(int p1, int p2) {
+        int idx = index(p1, p2);
+        int count = counts[idx];
+        histogram[count]--;
+        histogram[count - 1]++;
+        counts[idx] = count - 1;
+        cubicSum -= 3L * count * count - 3L * count + 1; // c³ - (c-1)³
+    }
+
+    /**
+     * Change of Σ count³ if pair (p1, p2) met once more.
+     */
+    public long cubicDeltaUp(int p1, int p2) {
+        int count = get(p1, p2);
+        return 3L * count * count + 3L * count + 1;
+    }
+
+    /**
+     * Change of Σ count³ if pair (p1, p2) met once less (negative).
+     */
+    public long cubicDeltaDown(int p1, int p2) {
+        int count = get(p1, p2);
+        return -(3L * count * count - 3L * count + 1);
+    }
+
+    // ══════════════════════════════════════════════════════════════════════
+    // SCORE
+    // ══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Cubic penalty for repeated encounters (lower is better).
+     */
+    public double getScore() {
+        return cubicSum * PENALTY_FACTOR;
+    }
+
+    /**
+     * Lowest score reachable with the same total of pair meetings, which the
+     * group sizes fix (swap moves never change it): count³ being convex, the
+     * best case spreads the meetings as evenly as possible over all pairs.
+     */
+    public double getLowerBound() {
+        long nbPairs = counts.length;
+        if (nbPairs == 0) {
+            return 0;
+        }
+        long meetings = 0;
+        for (int c = 1; c < histogram.length; c++) {
+            meetings += (long) c * histogram[c];
+        }
+
+        long base = meetings / nbPairs;
+        long extra = meetings % nbPairs; // Pairs meeting once more than the others
+        long cubic = extra * (base + 1) * (base + 1) * (base + 1) + (nbPairs - extra) * base * base * base;
+        return cubic * PENALTY_FACTOR;
+    }
+
+    public int getMaxRencontres() {
+        for (int c = histogram.length - 1; c > 0; c--) {
+            if (histogram[c] > 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    public int getCollisions() {
+        int collisions = 0;
+        for (int c = 2; c < histogram.length; c++) {
+            collisions += (c - 1) * histogram[c];
+        }
+        return collisions;
+    }
+
+    /**
+     * Number of pairs that met exactly {@code count} times.
+     */
+    public int getNbPairs(int count) {
+        return count < histogram.length ? histogram[count] : 0;
+    }
+
+    public Map<Integer, Integer> getDistribution() {
+        Map<Integer, Integer> distribution = new HashMap<>();
+        for (int c = 0; c < histogram.length; c++) {
+            if (histogram[c] > 0) {
+                distribution.put(c, histogram[c]);
+            }
+        }
+        return distribution;
+    }
+
+    public ScoreResult toScoreResult() {
+        return new ScoreResult(getScore(), getDistribution(), getCollisions(), getMaxRencontres(), getLowerBound());
+    }
+
+    // ══════════════════════════════════════════════════════════════════════
+    // STRING-KEYED ADAPTER ("p1-p2" → count)
+    // ══════════════════════════════════════════════════════════════════════
+
+    /**
+     * Pairs that met at least once, keyed "p1-p2" with p1 < p2.
+     */
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> encounters = new HashMap<>();
+        for (int i = 1; i <= nbJoueurs; i++) {
+            for (int j = i + 1; j <= nbJoueurs; j++) {
+                int count = get(i, j);
+                if (count > 0) {
+                    encounters.put(i + "-" + j, count);
+                }
+            }
+        }
+        return encounters;
+    }
+
+    public static EncounterMatrix fromMap(int nbJoueurs, Map<String, Integer> encounters) {
+        EncounterMatrix matrix = new EncounterMatrix(nbJoueurs);
+        for (Map.Entry<String, Integer> entry : encounters.entrySet()) {
+            String[] parts = entry.getKey().split("-");
+            int p1 = Integer.parseInt(parts[0]);
+            int p2 = Integer.parseInt(parts[1]);
+            for (int k = 0; k < entry.getValue(); k++) {
+                matrix.increment(p1, p2);
+            }
+        }
+        return matrix;
+    }
+}
@@ -0,0 +1,46 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Random swaps, kept only when they strictly lower the score. Plannings
+ * already tested are remembered (VisitedStates) and never scored twice.
+ */
+@RequiredArgsConstructor
+public class HillClimbing implements LocalSearch {
+
+    private final TournamentConfig config;
+    private final TournamentPlanningService service;
+
+    @Override
+    public boolean optimize(CompactPlanning planning, EncounterMatrix encounters, SearchMonitor monitor) {
+        VisitedStates testedHashes = VisitedStates.create(config);
+        testedHashes.add(service.getPlanningHash(planning));
+        SwapMove move = new SwapMove();
+
+        for (int i = 0; i < config.getNbIterationsParRelance() && !monitor.isStopRequested(); i++) {
+            // Random swap, described as a move on the current planning
+            boolean proposed = service.proposeRandomSwap(planning, encounters, move);
+
+            // Skip already tested plannings, score the rest incrementally
+            boolean improved = proposed
+                    && testedHashes.add(service.getPlanningHash(planning, move))
+                    && service.deltaScore(planning, encounters, move) < 0;
+
+            if (improved) {
+                service.applyMove(planning, encounters, move);
+
+                // Moves keep the planning valid by construction: only checked with -ea
+                assert service.validatePlanning(planning);
+
+                // Early stopping
+                if (service.isStopReached(encounters)) {
+                    return true;
+                }
+            }
+
+            monitor.iterationsDone(1, planning, encounters);
+        }
+        return false;
+    }
+}
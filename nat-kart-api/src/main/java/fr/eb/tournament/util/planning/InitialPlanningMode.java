@@ -0,0 +1,10 @@
+package fr.eb.tournament.util.planning;
+
+/**
+ * How generateInitialPlanning fills the groups of each console session.
+ * Both keep the rotation of the session groups over the consoles.
+ */
+public enum InitialPlanningMode {
+    RANDOM, // Shuffled players, groups filled in order
+    GREEDY // Each group takes the players who met its members the least so far
+}
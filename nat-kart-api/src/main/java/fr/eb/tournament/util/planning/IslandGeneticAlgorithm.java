@@ -0,0 +1,253 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Island-model genetic algorithm: several populations of plannings evolve
+ * on their own thread. Each generation breeds one child per island from two
+ * parents (binary tournament) with PlanningCrossover, improves it with
+ * geneticLocalIterations swap moves, and replaces the worst planning of the
+ * island if the child is better and not already in it.
+ *
+ * Every geneticMigrationInterval generations, each island sends a copy of
+ * its best planning to the next one (ring), which replaces its worst.
+ *
+ * nbIterationsParRelance counts swap moves per island, so an island breeds
+ * nbIterationsParRelance / geneticLocalIterations children.
+ */
+@Slf4j
+public class IslandGeneticAlgorithm implements LocalSearch {
+
+    private final TournamentConfig config;
+    private final TournamentPlanningService service;
+
+    public IslandGeneticAlgorithm(TournamentConfig config, TournamentPlanningService service) {
+        this.config = config;
+        this.service = service;
+    }
+
+    /**
+     * Number of islands: geneticIslands, or parallelism (0 = all cores).
+     */
+    public int getNbIslands() {
+        int nbIslands = config.getGeneticIslands();
+        if (nbIslands <= 0) {
+            nbIslands = config.getParallelism() > 0
+                    ? config.getParallelism()
+                    : Runtime.getRuntime().availableProcessors();
+        }
+        return Math.max(1, nbIslands);
+    }
+
+    @Override
+    public boolean optimize(CompactPlanning planning, EncounterMatrix encounters, SearchMonitor monitor) {
+        int nbIslands = getNbIslands();
+        int localIterations = Math.max(1, config.getGeneticLocalIterations());
+        int nbGenerations = Math.max(1, config.getNbIterationsParRelance() / localIterations);
+        int interval = Math.max(1, config.getGeneticMigrationInterval());
+        boolean optimal = false;
+        AtomicBoolean aborted = new AtomicBoolean(); // An island failed or the caller was interrupted
+        BooleanSupplier stop = () -> aborted.get() || monitor.isStopRequested();
+
+        log.debug("Evolving {} islands of {} plannings for {} generations", nbIslands,
+                config.getGeneticPopulationSize(), nbGenerations);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(nbIslands,
+                Thread.ofPlatform().name("genetic-island-", 1).factory())) {
+            try {
+                // Populations are built in parallel too; the given planning joins the first island
+                List<Callable<Island>> builds = new ArrayList<>();
+                for (int k = 0; k < nbIslands; k++) {
+                    boolean seeded = k == 0;
+                    TournamentPlanningService islandService = service.split(); // Split here, in island order
+                    builds.add(() -> new Island(islandService, seeded ? planning : null,
+                            seeded ? encounters : null));
+                }
+                Island[] islands = new Island[nbIslands];
+                List<Future<Island>> built = executor.invokeAll(builds);
+                for (int k = 0; k < nbIslands; k++) {
+                    islands[k] = built.get(k).get();
+                }
+
+                for (int generation = 0; generation < nbGenerations && !optimal && !stop.getAsBoolean();
+                        generation += interval) {
+                    // Evolve every island until the next migration
+                    int nbSteps = Math.min(interval, nbGenerations - generation);
+                    List<Callable<Boolean>> steps = new ArrayList<>();
+                    for (Island island : islands) {
+                        steps.add(() -> {
+                            try {
+                                return island.evolve(nbSteps, stop);
+                            } catch (RuntimeException | Error e) {
+                                aborted.set(true); // The other islands end their generations early
+                                throw e;
+                            }
+                        });
+                    }
+                    for (Future<Boolean> step : executor.invokeAll(steps)) {
+                        optimal |= step.get();
+                    }
+
+                    // Migration: island k receives the best planning of island k - 1
+                    if (nbIslands > 1) {
+                        int[] migrants = new int[nbIslands];
+                        for (int k = 0; k < nbIslands; k++) {
+                            migrants[k] = islands[k].bestIndex();
+                        }
+                        for (int k = 0; k < nbIslands; k++) {
+                            Island from = islands[(k + nbIslands - 1) % nbIslands];
+                            int migrant = migrants[(k + nbIslands - 1) % nbIslands];
+                            islands[k].receive(from.population[migrant], from.scores[migrant]);
+                        }
+                    }
+
+                    Island best = bestIsland(islands);
+                    monitor.iterationsDone(nbSteps * localIterations * nbIslands,
+                            best.population[best.bestIndex()], best.scores[best.bestIndex()]);
+                }
+
+                // Keep the best planning of all islands
+                Island best = bestIsland(islands);
+                planning.copyFrom(best.population[best.bestIndex()]);
+                encounters.copyFrom(best.scores[best.bestIndex()]);
+            } catch (InterruptedException | ExecutionException e) {
+                aborted.set(true); // Stop the other islands before close() waits for them
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Genetic island failed", e.getCause());
+        }
+
+        return optimal || service.isStopReached(encounters);
+    }
+
+    private static Island bestIsland(Island[] islands) {
+        Island best = islands[0];
+        for (Island island : islands) {
+            if (island.scores[island.bestIndex()].getScore() < best.scores[best.bestIndex()].getScore()) {
+                best = island;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * One population, evolved by a single thread at a time.
+     */
+    private class Island {
+        private final TournamentPlanningService service;
+        private final PlanningCrossover crossover;
+        private final SplittableRandom random;
+        private final SwapMove move = new SwapMove();
+        private final CompactPlanning[] population;
+        private final EncounterMatrix[] scores;
+
+        Island(TournamentPlanningService service, CompactPlanning seed, EncounterMatrix seedEncounters) {
+            this.service = service;
+            this.crossover = new PlanningCrossover(service);
+            this.random = service.getRandom();
+
+            int size = Math.max(2, config.getGeneticPopulationSize());
+            this.population = new CompactPlanning[size];
+            this.scores = new EncounterMatrix[size];
+            for (int i = 0; i < size; i++) {
+                if (i == 0 && seed != null) {
+                    population[i] = seed.copy();
+                    scores[i] = seedEncounters.copy();
+                } else {
+                    population[i] = service.generateInitialPlanning();
+                    scores[i] = service.calculateEncounters(population[i]);
+                }
+                improve(population[i], scores[i]);
+            }
+        }
+
+        /**
+         * Breeds a number of generations.
+         *
+         * @return true if the stopping criterion was reached
+         */
+        boolean evolve(int nbGenerations, BooleanSupplier stopRequested) {
+            for (int generation = 0; generation < nbGenerations && !stopRequested.getAsBoolean(); generation++) {
+                CompactPlanning child = crossover.cross(population[select()], population[select()]);
+                if (child != null) {
+                    // Moves keep the repaired child valid: only checked with -ea
+                    assert service.validatePlanning(child);
+
+                    EncounterMatrix childScore = service.calculateEncounters(child);
+                    improve(child, childScore);
+                    receive(child, childScore);
+
+                    if (service.isStopReached(childScore)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Replaces the worst planning if the newcomer is better and not
+         * already in the population.
+         */
+        void receive(CompactPlanning planning, EncounterMatrix encounters) {
+            int worst = 0;
+            for (int i = 0; i < population.length; i++) {
+                if (population[i].getHash() == planning.getHash()) {
+                    return;
+                }
+                if (scores[i].getScore() > scores[worst].getScore()) {
+                    worst = i;
+                }
+            }
+            if (encounters.getScore() < scores[worst].getScore()) {
+                population[worst] = planning.copy();
+                scores[worst] = encounters.copy();
+            }
+        }
+
+        int bestIndex() {
+            int best = 0;
+            for (int i = 1; i < population.length; i++) {
+                if (scores[i].getScore() < scores[best].getScore()) {
+                    best = i;
+                }
+            }
+            return best;
+        }
+
+        /**
+         * Binary tournament: the better of two random plannings.
+         */
+        private int select() {
+            int a = random.nextInt(population.length);
+            int b = random.nextInt(population.length);
+            return scores[a].getScore() <= scores[b].getScore() ? a : b;
+        }
+
+        /**
+         * Local improvement: random swaps that do not raise the score.
+         */
+        private void improve(CompactPlanning planning, EncounterMatrix encounters) {
+            for (int i = 0; i < config.getGeneticLocalIterations(); i++) {
+                if (service.proposeRandomSwap(planning, encounters, move)
+                        && service.deltaScore(planning, encounters, move) <= 0) {
+                    service.applyMove(planning, encounters, move);
+                }
+            }
+        }
+    }
+}
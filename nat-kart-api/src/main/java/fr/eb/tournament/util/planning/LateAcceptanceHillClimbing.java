@@ -0,0 +1,58 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.Arrays;
+
+/**
+ * Late-acceptance hill climbing: a move is accepted if the resulting score
+ * is not worse than the current one, or than the score the search had
+ * lateAcceptanceLength iterations ago (circular buffer). No temperature to
+ * tune, one double per remembered iteration.
+ */
+public class LateAcceptanceHillClimbing implements LocalSearch {
+
+    private final TournamentConfig config;
+    private final TournamentPlanningService service;
+
+    public LateAcceptanceHillClimbing(TournamentConfig config, TournamentPlanningService service) {
+        this.config = config;
+        this.service = service;
+    }
+
+    @Override
+    public boolean optimize(CompactPlanning planning, EncounterMatrix encounters, SearchMonitor monitor) {
+        double[] history = new double[Math.max(1, config.getLateAcceptanceLength())];
+        Arrays.fill(history, encounters.getScore());
+        SwapMove move = new SwapMove();
+
+        // Best planning of the run: the current one may get worse
+        CompactPlanning best = planning.copy();
+        EncounterMatrix bestEncounters = encounters.copy();
+        boolean optimal = false;
+
+        for (int i = 0; i < config.getNbIterationsParRelance() && !optimal && !monitor.isStopRequested(); i++) {
+            int v = i % history.length;
+            double current = encounters.getScore();
+
+            if (service.proposeRandomSwap(planning, encounters, move)) {
+                double candidate = current + service.deltaScore(planning, encounters, move);
+
+                if (candidate <= current || candidate <= history[v]) {
+                    service.applyMove(planning, encounters, move);
+
+                    if (candidate < bestEncounters.getScore()) {
+                        best.copyFrom(planning);
+                        bestEncounters.copyFrom(encounters);
+                        optimal = service.isStopReached(encounters);
+                    }
+                }
+            }
+
+            history[v] = encounters.getScore();
+            monitor.iterationsDone(1, best, bestEncounters);
+        }
+
+        planning.copyFrom(best);
+        encounters.copyFrom(bestEncounters);
+        return optimal;
+    }
+}
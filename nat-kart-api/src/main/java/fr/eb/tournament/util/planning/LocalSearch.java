@@ -0,0 +1,34 @@
+package fr.eb.tournament.util.planning;
+
+/**
+ * Optimisation of one planning by the swap1/swap2 moves of
+ * TournamentPlanningService. A search is created per restart and is not
+ * thread-safe.
+ */
+public interface LocalSearch {
+
+    /**
+     * Optimises the planning in place. On return, planning and encounters hold
+     * the best planning found.
+     *
+     * @param monitor checked every iteration to end the search early, and
+     *                told about the iterations done with the best planning
+     * @return true if the stopping criterion was reached (see
+     *         TournamentPlanningService.isStopReached)
+     */
+    boolean optimize(CompactPlanning planning, EncounterMatrix encounters, SearchMonitor monitor);
+
+    /**
+     * Creates the search selected in the configuration.
+     */
+    static LocalSearch create(TournamentConfig config, TournamentPlanningService service) {
+        return switch (config.getStrategy()) {
+            case HILL_CLIMBING -> new HillClimbing(config, service);
+            case SIMULATED_ANNEALING -> new SimulatedAnnealing(config, service);
+            case TABU -> new TabuSearch(config, service);
+            case PARALLEL_TEMPERING -> new ParallelTempering(config, service);
+            case LATE_ACCEPTANCE -> new LateAcceptanceHillClimbing(config, service);
+            case GENETIC -> new IslandGeneticAlgorithm(config, service);
+        };
+    }
+}
@@ -0,0 +1,138 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.Arrays;
+
+/**
+ * Exact set of the last N distinct planning hashes seen, least recently
+ * seen forgotten first: a hit refreshes the hash. Entries live in fixed
+ * arrays linked in recency order (head = most recent), and a
+ * linear-probing table of entry indices gives membership. Once full, each
+ * new hash takes the slot of the least recent one, so memory is fixed
+ * (~24 to 32 bytes per entry).
+ */
+public class LruRingVisitedStates implements VisitedStates {
+    private static final int NONE = -1;
+
+    private final long[] keys; // Hash of each entry
+    private final int[] newer; // Next more recent entry, NONE for the head
+    private final int[] older; // Next less recent entry, NONE for the tail
+    private final int[] table; // Open-addressing membership table: entry index + 1, 0 marks a free cell
+    private int head = NONE; // Most recently seen entry
+    private int tail = NONE; // Least recently seen entry, evicted first
+    private int size;
+
+    public LruRingVisitedStates(int capacity) {
+        if (capacity < 1 || capacity > CappedLongHashSet.MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "Visited states capacity must be between 1 and " + CappedLongHashSet.MAX_CAPACITY);
+        }
+        this.keys = new long[capacity];
+        this.newer = new int[capacity];
+        this.older = new int[capacity];
+        this.table = new int[CappedLongHashSet.tableSizeFor(capacity)];
+    }
+
+    @Override
+    public boolean add(long hash) {
+        int idx = find(hash);
+        if (table[idx] != 0) {
+            // Known: refresh it
+            int entry = table[idx] - 1;
+            unlink(entry);
+            linkHead(entry);
+            return false;
+        }
+
+        int entry;
+        if (size == keys.length) {
+            entry = tail;
+            unlink(entry);
+            remove(find(keys[entry]));
+            idx = find(hash);
+        } else {
+            entry = size++;
+        }
+
+        keys[entry] = hash;
+        table[idx] = entry + 1;
+        linkHead(entry);
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(table, 0);
+        head = NONE;
+        tail = NONE;
+        size = 0;
+    }
+
+    private void linkHead(int entry) {
+        newer[entry] = NONE;
+        older[entry] = head;
+        if (head != NONE) {
+            newer[head] = entry;
+        } else {
+            tail = entry;
+        }
+        head = entry;
+    }
+
+    private void unlink(int entry) {
+        if (newer[entry] != NONE) {
+            older[newer[entry]] = older[entry];
+        } else {
+            head = older[entry];
+        }
+        if (older[entry] != NONE) {
+            newer[older[entry]] = newer[entry];
+        } else {
+            tail = newer[entry];
+        }
+    }
+
+    /**
+     * Cell holding {@code hash}, or the free cell where it would be inserted.
+     */
+    private int find(long hash) {
+        int mask = table.length - 1;
+        int idx = home(hash);
+        while (table[idx] != 0 && keys[table[idx] - 1] != hash) {
+            idx = (idx + 1) & mask;
+        }
+        return idx;
+    }
+
+    private int home(long hash) {
+        return (int) VisitedStates.mix(hash) & (table.length - 1);
+    }
+
+    /**
+     * Backward-shift deletion of a cell: keeps every probe chain unbroken
+     * without tombstones.
+     */
+    private void remove(int hole) {
+        int mask = table.length - 1;
+        int idx = hole;
+
+        while (true) {
+            idx = (idx + 1) & mask;
+            if (table[idx] == 0) {
+                break;
+            }
+            int h = home(keys[table[idx] - 1]);
+            boolean reachable = hole <= idx ? (hole < h && h <= idx) : (hole < h || h <= idx);
+            if (!reachable) {
+                table[hole] = table[idx];
+                hole = idx;
+            }
+        }
+
+        table[hole] = 0;
+    }
+}
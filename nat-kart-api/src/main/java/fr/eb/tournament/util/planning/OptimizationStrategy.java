@@ -0,0 +1,20 @@
+package fr.eb.tournament.util.planning;
+
+/**
+ * Local search run by each restart (see LocalSearch).
+ */
+public enum OptimizationStrategy {
+    HILL_CLIMBING, // Strict improvements only
+    SIMULATED_ANNEALING, // Also accepts worse plannings, less and less as it cools down
+    TABU, // Best non-tabu move of the colliding players at each iteration
+    PARALLEL_TEMPERING, // Replicas at several temperatures, one thread each, exchanged periodically
+    LATE_ACCEPTANCE, // Accepts what beats the score of N iterations ago, nothing to tune
+    GENETIC; // Populations on several threads, crossover of sessions/consoles, migration
+
+    /**
+     * Whether a single restart already runs on several threads.
+     */
+    public boolean isMultiThreaded() {
+        return this == PARALLEL_TEMPERING || this == GENETIC;
+    }
+}
@@ -0,0 +1,201 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Parallel tempering (replica exchange): several copies of the planning are
+ * annealed at fixed temperatures, from the coldest (end temperature) to the
+ * hottest (start temperature, see SimulatedAnnealing.calibrate), each on its
+ * own thread.
+ *
+ * Every temperingExchangeInterval iterations the replicas stop and
+ * neighbouring temperatures may trade replicas, with probability
+ * min(1, exp((E_cold - E_hot) × (1/T_cold - 1/T_hot))). Good plannings
+ * found while hot thus sink to the cold end, where they are refined.
+ */
+@Slf4j
+public class ParallelTempering implements LocalSearch {
+
+    private final TournamentConfig config;
+    private final TournamentPlanningService service;
+    private final SplittableRandom random;
+
+    public ParallelTempering(TournamentConfig config, TournamentPlanningService service) {
+        this.config = config;
+        this.service = service;
+        this.random = service.getRandom();
+    }
+
+    /**
+     * Number of replicas: temperingReplicas, or parallelism (0 = all cores),
+     * at least 2.
+     */
+    public int getNbReplicas() {
+        int nbReplicas = config.getTemperingReplicas();
+        if (nbReplicas <= 0) {
+            nbReplicas = config.getParallelism() > 0
+                    ? config.getParallelism()
+                    : Runtime.getRuntime().availableProcessors();
+        }
+        return Math.max(2, nbReplicas);
+    }
+
+    @Override
+    public boolean optimize(CompactPlanning planning, EncounterMatrix encounters, SearchMonitor monitor) {
+        int nbReplicas = getNbReplicas();
+        double[] temperatures = temperatureLadder(
+                SimulatedAnnealing.calibrate(config, service, planning, encounters), nbReplicas);
+        log.debug("Tempering {} replicas from T={} to T={}", nbReplicas, temperatures[0],
+                temperatures[nbReplicas - 1]);
+
+        // replicas[k] runs at temperatures[k]; each replica has its own random generator
+        Replica[] replicas = new Replica[nbReplicas];
+        for (int k = 0; k < nbReplicas; k++) {
+            replicas[k] = new Replica(service.split(), planning, encounters);
+        }
+
+        int interval = Math.max(1, config.getTemperingExchangeInterval());
+        int nbRounds = (config.getNbIterationsParRelance() + interval - 1) / interval;
+        boolean optimal = false;
+        AtomicBoolean aborted = new AtomicBoolean(); // A replica failed or the caller was interrupted
+        BooleanSupplier stop = () -> aborted.get() || monitor.isStopRequested();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(nbReplicas,
+                Thread.ofPlatform().name("tempering-replica-", 1).factory())) {
+            try {
+                for (int round = 0; round < nbRounds && !optimal && !stop.getAsBoolean(); round++) {
+                    // Anneal every replica at its temperature
+                    List<Callable<Boolean>> steps = new ArrayList<>();
+                    for (int k = 0; k < nbReplicas; k++) {
+                        Replica replica = replicas[k];
+                        double temperature = temperatures[k];
+                        steps.add(() -> {
+                            try {
+                                return replica.run(interval, temperature, stop);
+                            } catch (RuntimeException | Error e) {
+                                aborted.set(true); // The other replicas end their round early
+                                throw e;
+                            }
+                        });
+                    }
+                    for (Future<Boolean> step : executor.invokeAll(steps)) {
+                        optimal |= step.get();
+                    }
+
+                    // Exchange neighbouring replicas (even pairs, then odd pairs on the next round)
+                    for (int k = round % 2; k + 1 < nbReplicas; k += 2) {
+                        double energyDelta = replicas[k].getScore() - replicas[k + 1].getScore();
+                        double exponent = energyDelta * (1 / temperatures[k] - 1 / temperatures[k + 1]);
+                        if (exponent >= 0 || random.nextDouble() < Math.exp(exponent)) {
+                            Replica colder = replicas[k];
+                            replicas[k] = replicas[k + 1];
+                            replicas[k + 1] = colder;
+                        }
+                    }
+
+                    Replica best = bestReplica(replicas);
+                    monitor.iterationsDone(interval * nbReplicas, best.best, best.bestEncounters);
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                aborted.set(true); // Stop the other replicas before close() waits for them
+                throw e;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tempering replica failed", e.getCause());
+        }
+
+        // Keep the best planning seen by any replica
+        Replica best = bestReplica(replicas);
+        planning.copyFrom(best.best);
+        encounters.copyFrom(best.bestEncounters);
+        return optimal;
+    }
+
+    private static Replica bestReplica(Replica[] replicas) {
+        Replica best = replicas[0];
+        for (Replica replica : replicas) {
+            if (replica.bestEncounters.getScore() < best.bestEncounters.getScore()) {
+                best = replica;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Geometric ladder from the end temperature (index 0, coldest) to the
+     * start temperature (last index, hottest).
+     */
+    private static double[] temperatureLadder(double[] startAndEnd, int nbReplicas) {
+        double hottest = startAndEnd[0];
+        double coldest = startAndEnd[1];
+        double[] temperatures = new double[nbReplicas];
+        for (int k = 0; k < nbReplicas; k++) {
+            temperatures[k] = coldest * Math.pow(hottest / coldest, (double) k / (nbReplicas - 1));
+        }
+        return temperatures;
+    }
+
+    /**
+     * One copy of the planning, annealed by a single thread at a time.
+     */
+    private class Replica {
+        private final TournamentPlanningService replicaService;
+        private final CompactPlanning planning;
+        private final EncounterMatrix encounters;
+        private final CompactPlanning best;
+        private final EncounterMatrix bestEncounters;
+        private final SwapMove move = new SwapMove();
+
+        Replica(TournamentPlanningService replicaService, CompactPlanning start, EncounterMatrix startEncounters) {
+            this.replicaService = replicaService;
+            this.planning = start.copy();
+            this.encounters = startEncounters.copy();
+            this.best = start.copy();
+            this.bestEncounters = startEncounters.copy();
+        }
+
+        double getScore() {
+            return encounters.getScore();
+        }
+
+        /**
+         * Metropolis moves at a fixed temperature.
+         *
+         * @return true if the stopping criterion was reached
+         */
+        boolean run(int nbIterations, double temperature, BooleanSupplier stopRequested) {
+            SplittableRandom replicaRandom = replicaService.getRandom();
+            for (int i = 0; i < nbIterations && !stopRequested.getAsBoolean(); i++) {
+                if (replicaService.proposeRandomSwap(planning, encounters, move)) {
+                    double delta = replicaService.deltaScore(planning, encounters, move);
+
+                    if (delta <= 0 || replicaRandom.nextDouble() < Math.exp(-delta / temperature)) {
+                        replicaService.applyMove(planning, encounters, move);
+
+                        if (encounters.getScore() < bestEncounters.getScore()) {
+                            best.copyFrom(planning);
+                            bestEncounters.copyFrom(encounters);
+                            if (replicaService.isStopReached(encounters)) {
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
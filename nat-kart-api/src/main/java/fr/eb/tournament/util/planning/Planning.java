@@ -11,6 +11,9 @@ import java.util.*;
  * 
  * Example: planning.get("Switch 1").get(0).get(1) = [3, 7, 12]
  * means players 3, 7, 12 play on Switch 1, session 0, group 1
+ *
+ * The optimizer works on CompactPlanning; this class is only the conversion
+ * view used to build DTOs (see CompactPlanning.toPlanning()).
  */
 @Data
 public class Planning {
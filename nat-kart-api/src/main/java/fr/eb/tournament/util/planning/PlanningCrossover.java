@@ -0,0 +1,217 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.SplittableRandom;
+
+/**
+ * Crossover of two plannings of the same configuration: the child inherits
+ * whole sessions, or whole console columns (a console over every session),
+ * from either parent, then is repaired so that every player plays once per
+ * session and once per console again.
+ *
+ * Parents must share their group sizes, which holds for plannings built by
+ * generateInitialPlanning and changed only by swap moves. With byes (more
+ * sessions than consoles) parents differ in who plays each session, so
+ * children then inherit whole consoles only.
+ */
+public class PlanningCrossover {
+    private static final int REPAIR_STEPS_PER_PLAYER = 20;
+
+    private final PlanningLayout layout;
+    private final SplittableRandom random;
+
+    public PlanningCrossover(TournamentPlanningService service) {
+        this.layout = service.getLayout();
+        this.random = service.getRandom();
+    }
+
+    /**
+     * Builds a child from two parents, sessions or console columns (1 in 2)
+     * drawn at random from each parent.
+     *
+     * @return the repaired child, or null if it could not be repaired
+     */
+    public CompactPlanning cross(CompactPlanning parent1, CompactPlanning parent2) {
+        boolean bySession = layout.getNbSessions() == layout.getNbConsoles() && random.nextBoolean();
+        int nbParts = bySession ? layout.getNbSessions() : layout.getNbConsoles();
+        boolean[] fromParent1 = new boolean[nbParts];
+        for (int i = 0; i < nbParts; i++) {
+            fromParent1[i] = random.nextBoolean();
+        }
+
+        // Copy the inherited groups seat by seat
+        int[] seats = new int[layout.getNbSlots()];
+        int[] sizes = new int[layout.getNbGroupesTotal()];
+        for (int group = 0; group < sizes.length; group++) {
+            int part = bySession ? layout.sessionOfGroup(group) : layout.consoleOfGroup(group);
+            CompactPlanning parent = fromParent1[part] ? parent1 : parent2;
+            sizes[group] = parent.groupSizeAt(group);
+            for (int seat = 0; seat < sizes[group]; seat++) {
+                seats[layout.slotIndex(group, seat)] = parent.playerAt(layout.slotIndex(group, seat));
+            }
+        }
+
+        // Sessions are inherited whole, console columns may seat a player twice in a session
+        if (!bySession && !repairSessions(seats, sizes, parent1)) {
+            return null;
+        }
+
+        CompactPlanning child = new CompactPlanning(layout);
+        for (int group = 0; group < sizes.length; group++) {
+            for (int seat = 0; seat < sizes[group]; seat++) {
+                child.addPlayer(layout.consoleOfGroup(group), layout.sessionOfGroup(group),
+                        layout.groupeOfGroup(group), seats[layout.slotIndex(group, seat)]);
+            }
+        }
+
+        return repairConsoles(child) ? child : null;
+    }
+
+    /**
+     * Replaces the second appearance of a player in a session by one of the
+     * session's missing players.
+     */
+    private boolean repairSessions(int[] seats, int[] sizes, CompactPlanning reference) {
+        int nbJoueurs = layout.getNbJoueurs();
+
+        for (int s = 0; s < layout.getNbSessions(); s++) {
+            boolean[] seen = new boolean[nbJoueurs + 1];
+            int[] holes = new int[layout.getNbSlots()];
+            int nbHoles = 0;
+
+            for (int c = 0; c < layout.getNbConsoles(); c++) {
+                for (int g = 0; g < layout.getMaxGroupes(); g++) {
+                    int group = layout.groupIndex(c, s, g);
+                    for (int seat = 0; seat < sizes[group]; seat++) {
+                        int slot = layout.slotIndex(group, seat);
+                        if (seen[seats[slot]]) {
+                            holes[nbHoles++] = slot;
+                        }
+                        seen[seats[slot]] = true;
+                    }
+                }
+            }
+
+            // Missing players: those of the session who were not seen, in random order
+            int[] missing = new int[nbHoles];
+            int nbMissing = 0;
+            for (int player = 1; player <= nbJoueurs; player++) {
+                if (!seen[player] && reference.slotOf(player, s) >= 0) {
+                    if (nbMissing == nbHoles) {
+                        return false;
+                    }
+                    int position = random.nextInt(nbMissing + 1);
+                    missing[nbMissing++] = missing[position];
+                    missing[position] = player;
+                }
+            }
+            if (nbMissing != nbHoles) {
+                return false;
+            }
+
+            for (int i = 0; i < nbHoles; i++) {
+                seats[holes[i]] = missing[i];
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gives every player each console once, by swapping players of the same
+     * session between consoles: a player playing console c twice trades its
+     * seat with a player of a console it never plays, preferring the trades
+     * that also help the other player.
+     */
+    private boolean repairConsoles(CompactPlanning child) {
+        int nbConsoles = layout.getNbConsoles();
+        int nbSessions = layout.getNbSessions();
+        int[] counts = new int[(layout.getNbJoueurs() + 1) * nbConsoles]; // (player, console) → games
+
+        for (int player = 1; player <= layout.getNbJoueurs(); player++) {
+            for (int s = 0; s < nbSessions; s++) {
+                int slot = child.slotOf(player, s);
+                if (slot >= 0) {
+                    counts[player * nbConsoles + consoleOfSlot(slot)]++;
+                }
+            }
+        }
+
+        int nbSteps = REPAIR_STEPS_PER_PLAYER * layout.getNbJoueurs();
+        int player = 1;
+        int nbClean = 0; // Players checked in a row without any duplicate console
+        while (nbClean < layout.getNbJoueurs()) {
+            int duplicate = duplicateConsole(counts, player);
+            if (duplicate < 0) {
+                nbClean++;
+                player = player % layout.getNbJoueurs() + 1;
+                continue;
+            }
+            if (nbSteps-- == 0) {
+                return false;
+            }
+            nbClean = 0;
+
+            // Best trade: the player leaves a duplicate seat for a console it misses
+            int bestSlot = -1;
+            int bestOtherSlot = -1;
+            int bestGain = Integer.MIN_VALUE;
+            int nbTies = 0;
+            for (int s = 0; s < nbSessions; s++) {
+                int slot = child.slotOf(player, s);
+                if (slot < 0 || consoleOfSlot(slot) != duplicate) {
+                    continue;
+                }
+                for (int d = 0; d < nbConsoles; d++) {
+                    if (counts[player * nbConsoles + d] > 0) {
+                        continue;
+                    }
+                    for (int g = 0; g < layout.getConsole(d).getNbGroupes(); g++) {
+                        int group = layout.groupIndex(d, s, g);
+                        for (int seat = 0; seat < child.groupSizeAt(group); seat++) {
+                            int otherSlot = layout.slotIndex(group, seat);
+                            int other = child.playerAt(otherSlot);
+                            // Other player leaves d for the duplicate console
+                            int gain = (counts[other * nbConsoles + d] > 1 ? 1 : 0)
+                                    - (counts[other * nbConsoles + duplicate] > 0 ? 1 : 0);
+                            if (gain > bestGain) {
+                                nbTies = 0;
+                            }
+                            if (gain >= bestGain && random.nextInt(++nbTies) == 0) {
+                                bestGain = gain;
+                                bestSlot = slot;
+                                bestOtherSlot = otherSlot;
+                            }
+                        }
+                    }
+                }
+            }
+            if (bestSlot < 0) {
+                return false;
+            }
+
+            int other = child.playerAt(bestOtherSlot);
+            int d = consoleOfSlot(bestOtherSlot);
+            counts[player * nbConsoles + duplicate]--;
+            counts[player * nbConsoles + d]++;
+            counts[other * nbConsoles + d]--;
+            counts[other * nbConsoles + duplicate]++;
+            child.swapSlots(bestSlot, bestOtherSlot);
+        }
+        return true;
+    }
+
+    /**
+     * Helper: A console the player plays more than once, or -1.
+     */
+    private int duplicateConsole(int[] counts, int player) {
+        for (int c = 0; c < layout.getNbConsoles(); c++) {
+            if (counts[player * layout.getNbConsoles() + c] > 1) {
+                return c;
+            }
+        }
+        return -1;
+    }
+
+    private int consoleOfSlot(int slot) {
+        return layout.consoleOfGroup(layout.groupOfSlot(slot));
+    }
+}
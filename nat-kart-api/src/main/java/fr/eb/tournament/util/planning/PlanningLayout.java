@@ -0,0 +1,92 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Immutable dimensions of a planning, shared by every CompactPlanning built
+ * from the same configuration.
+ *
+ * Groups are laid out console-major: (console, session, groupe), and each
+ * group owns maxJoueursParGroupe consecutive seats.
+ *
+ * Also holds the Zobrist keys of the planning hash: one random 64-bit key
+ * per (player, group), XOR-ed together for every seated player.
+ */
+@Getter
+public class PlanningLayout {
+    private static final long ZOBRIST_SEED = 0x5DEECE66DL; // Fixed: same layout → same hashes
+
+    private final List<Console> consoles;
+    private final int nbJoueurs;
+    private final int nbConsoles;
+    private final int nbSessions;
+    private final int maxGroupes; // Largest nbGroupes among consoles
+    private final int maxJoueursParGroupe; // Largest joueursParPartie among consoles
+    private final int nbGroupesTotal; // nbConsoles × nbSessions × maxGroupes
+    private final int nbSlots; // nbGroupesTotal × maxJoueursParGroupe
+    @Getter(AccessLevel.NONE)
+    private final long[] zobristKeys; // (player, group) → random key
+
+    public PlanningLayout(TournamentConfig config) {
+        this.consoles = List.copyOf(config.getConsoles());
+        this.nbJoueurs = config.getNbJoueurs();
+        this.nbConsoles = consoles.size();
+        this.nbSessions = config.getNbSessions();
+        this.maxGroupes = consoles.stream().mapToInt(Console::getNbGroupes).max().orElse(0);
+        this.maxJoueursParGroupe = consoles.stream().mapToInt(Console::getJoueursParPartie).max().orElse(0);
+        this.nbGroupesTotal = nbConsoles * nbSessions * maxGroupes;
+        this.nbSlots = nbGroupesTotal * maxJoueursParGroupe;
+        this.zobristKeys = new SplittableRandom(ZOBRIST_SEED)
+                .longs((long) (nbJoueurs + 1) * nbGroupesTotal)
+                .toArray();
+    }
+
+    /**
+     * Zobrist key of a player seated in a group.
+     */
+    public long zobristKey(int player, int groupIndex) {
+        return zobristKeys[player * nbGroupesTotal + groupIndex];
+    }
+
+    /**
+     * Flat index of a group.
+     */
+    public int groupIndex(int console, int session, int groupe) {
+        return (console * nbSessions + session) * maxGroupes + groupe;
+    }
+
+    /**
+     * Flat index of a seat inside a group.
+     */
+    public int slotIndex(int groupIndex, int seat) {
+        return groupIndex * maxJoueursParGroupe + seat;
+    }
+
+    public int groupOfSlot(int slot) {
+        return slot / maxJoueursParGroupe;
+    }
+
+    public int seatOfSlot(int slot) {
+        return slot % maxJoueursParGroupe;
+    }
+
+    public int consoleOfGroup(int groupIndex) {
+        return groupIndex / (nbSessions * maxGroupes);
+    }
+
+    public int sessionOfGroup(int groupIndex) {
+        return (groupIndex / maxGroupes) % nbSessions;
+    }
+
+    public int groupeOfGroup(int groupIndex) {
+        return groupIndex % maxGroupes;
+    }
+
+    public Console getConsole(int console) {
+        return consoles.get(console);
+    }
+}
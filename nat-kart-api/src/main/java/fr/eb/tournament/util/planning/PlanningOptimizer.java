@@ -0,0 +1,194 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs the restarts (nbRelances) of the planning optimisation in parallel on
+ * a bounded pool of worker threads.
+ *
+ * Each restart runs the configured LocalSearch and owns its
+ * TournamentPlanningService (random generator) and its planning/encounters
+ * state; only the global best is shared. When a restart
+ * reaches earlyStoppingThreshold or the score lower bound, the other
+ * restarts are cancelled.
+ *
+ * The optimisation also stops when its CancellationToken is cancelled or its
+ * time budget (timeBudgetMs) runs out: every search then returns its best
+ * planning so far, which is offered to the shared best.
+ *
+ * Every displayInterval iterations of a restart, its best planning is
+ * offered to the shared best and a PlanningProgress is sent to the listener
+ * (from the worker thread).
+ *
+ * With a seed, the random streams of the restarts are split from it in
+ * restart order and a restart reaching the stopping criterion no longer
+ * cuts the others short: the same seed and configuration give the same
+ * planning whatever the thread timing, unless the run is cancelled or
+ * its time budget runs out.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PlanningOptimizer {
+
+    private final TournamentConfig config;
+
+    /**
+     * Runs all restarts within the configured time budget and returns the
+     * best planning, or null if no restart could build a valid initial
+     * planning.
+     */
+    public CompactPlanning optimize() {
+        return optimize(new CancellationToken(config.getTimeBudgetMs()), new BestPlanningHolder());
+    }
+
+    /**
+     * Runs all restarts until they end or the token is cancelled. The best
+     * planning so far can be read from the holder at any time.
+     */
+    public CompactPlanning optimize(CancellationToken token, BestPlanningHolder best) {
+        return optimize(token, best, progress -> {
+        });
+    }
+
+    /**
+     * Same as optimize(token, best), with progress reported to the listener.
+     */
+    public CompactPlanning optimize(CancellationToken token, BestPlanningHolder best,
+            Consumer<PlanningProgress> listener) {
+        // Social-golfer shapes have a zero-repeat planning by construction: no search needed
+        if (config.isConstructiveDesign() && ResolvableDesign.applies(config)) {
+            log.info("Configuration matches a resolvable design, planning built without search");
+            TournamentPlanningService service = new TournamentPlanningService(config);
+            CompactPlanning planning = ResolvableDesign.build(config, service);
+            best.offer(planning, service.calculateEncounters(planning));
+            return planning;
+        }
+
+        AtomicBoolean optimalReached = new AtomicBoolean();
+        AtomicBoolean aborted = new AtomicBoolean(); // A restart failed or the caller was interrupted
+        BooleanSupplier stop = config.getSeed() != null
+                ? () -> aborted.get() || token.isCancelled()
+                : () -> aborted.get() || optimalReached.get() || token.isCancelled();
+        ProgressTracker tracker = new ProgressTracker(best, listener);
+        int nbWorkers = getNbWorkers();
+
+        log.debug("Running {} restarts on {} worker threads", config.getNbRelances(), nbWorkers);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(nbWorkers,
+                Thread.ofPlatform().name("planning-worker-", 1).factory())) {
+            // Random streams split here, in restart order, so that a seed gives the same streams
+            TournamentPlanningService root = new TournamentPlanningService(config);
+            List<Future<RestartResult>> restarts = new ArrayList<>();
+            for (int relance = 1; relance <= config.getNbRelances(); relance++) {
+                int restartNumber = relance;
+                TournamentPlanningService service = root.split();
+                restarts.add(executor.submit(() -> {
+                    try {
+                        return runRestart(restartNumber, service, best, tracker, stop, optimalReached);
+                    } catch (RuntimeException | Error e) {
+                        aborted.set(true); // The other restarts stop instead of hiding the failure
+                        throw e;
+                    }
+                }));
+            }
+
+            // Best result by score, then restart order (the shared best keeps the first one to arrive)
+            RestartResult bestResult = null;
+            try {
+                for (Future<RestartResult> restart : restarts) {
+                    RestartResult result = restart.get();
+                    if (result != null && (bestResult == null
+                            || result.encounters().getScore() < bestResult.encounters().getScore())) {
+                        bestResult = result;
+                    }
+                }
+            } catch (InterruptedException | ExecutionException e) {
+                aborted.set(true); // Stop the other restarts before close() waits for them
+                throw e;
+            }
+            if (bestResult != null) {
+                best.offerFinal(bestResult.planning(), bestResult.encounters());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Planning restart failed", e.getCause());
+        }
+
+        if (token.isCancelled()) {
+            log.info("Planning generation stopped (cancelled or time budget reached)");
+        }
+        log.info("Planning generation completed with score: {}", best.getScore());
+        return best.getPlanning();
+    }
+
+    /**
+     * Number of worker threads: parallelism (0 = all cores), at most one per
+     * restart. Multi-threaded strategies (replicas, islands) already use the
+     * cores, so their restarts run one after the other.
+     */
+    public int getNbWorkers() {
+        if (config.getStrategy().isMultiThreaded()) {
+            return 1;
+        }
+        int parallelism = config.getParallelism() > 0
+                ? config.getParallelism()
+                : Runtime.getRuntime().availableProcessors();
+        return Math.max(1, Math.min(parallelism, config.getNbRelances()));
+    }
+
+    /**
+     * Final planning of a restart.
+     */
+    private record RestartResult(CompactPlanning planning, EncounterMatrix encounters) {
+    }
+
+    /**
+     * One restart: the configured local search from a fresh initial planning.
+     *
+     * @return the best planning of the restart, null if skipped or invalid
+     */
+    private RestartResult runRestart(int relance, TournamentPlanningService service, BestPlanningHolder best,
+            ProgressTracker tracker, BooleanSupplier stop, AtomicBoolean optimalReached) {
+        // Skipped once stopped, unless nothing has been found yet
+        if (stop.getAsBoolean() && best.getPlanning() != null) {
+            return null;
+        }
+        log.debug("Starting restart {}/{}", relance, config.getNbRelances());
+
+        // Generate initial planning
+        CompactPlanning planning = service.generateInitialPlanning();
+
+        // Validate
+        if (!service.validatePlanning(planning)) {
+            log.warn("Invalid initial planning for restart {}, skipping", relance);
+            return null;
+        }
+
+        // Calculate initial score
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+
+        // Optimization
+        LocalSearch search = LocalSearch.create(config, service);
+        SearchMonitor monitor = new SearchMonitor(stop, tracker, config.getDisplayInterval());
+        if (search.optimize(planning, encounters, monitor)) {
+            log.info("Optimal score reached in restart {}", relance);
+            optimalReached.set(true);
+        }
+
+        // Update global best
+        monitor.finish(planning, encounters);
+        return new RestartResult(planning, encounters);
+    }
+}
@@ -0,0 +1,21 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Snapshot of a running optimisation, emitted every displayInterval
+ * iterations of a restart.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanningProgress {
+    private long iterations; // Iterations done by all restarts so far
+    private long elapsedMs; // Time since the optimisation started
+    private double iterationsPerSecond; // Average over the elapsed time
+    private double bestScore; // Score of the best planning so far
+    private int collisions; // Repeated encounters of the best planning
+    private int maxRencontres; // Maximum encounters between two players in the best planning
+}
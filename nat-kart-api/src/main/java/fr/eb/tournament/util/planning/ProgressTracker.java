@@ -0,0 +1,38 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.function.Consumer;
+
+/**
+ * Progress shared by the restarts of one optimisation: publishes their best
+ * plannings to the BestPlanningHolder and emits a PlanningProgress to the
+ * listener at each report.
+ */
+class ProgressTracker {
+    private final BestPlanningHolder best;
+    private final Consumer<PlanningProgress> listener;
+    private final long startNanos = System.nanoTime();
+    private long nbIterations;
+
+    ProgressTracker(BestPlanningHolder best, Consumer<PlanningProgress> listener) {
+        this.best = best;
+        this.listener = listener;
+    }
+
+    /**
+     * Adds the iterations done by a restart and offers its best planning.
+     */
+    synchronized void report(long iterations, CompactPlanning candidate, EncounterMatrix candidateEncounters) {
+        best.offer(candidate, candidateEncounters);
+        nbIterations += iterations;
+
+        EncounterMatrix bestEncounters = best.getEncounters();
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        listener.accept(new PlanningProgress(
+                nbIterations,
+                elapsedNanos / 1_000_000,
+                nbIterations * 1e9 / elapsedNanos,
+                bestEncounters.getScore(),
+                bestEncounters.getCollisions(),
+                bestEncounters.getMaxRencontres()));
+    }
+}
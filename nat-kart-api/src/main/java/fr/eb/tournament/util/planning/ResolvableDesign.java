@@ -0,0 +1,104 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Constructive planning without any repeated encounter, for configurations
+ * shaped like the social golfer problem.
+ *
+ * With q = nbConsoles prime, sessions and consoles are the coordinates of
+ * the affine plane Z_q × Z_q. A player is a line of slope y ≠ 0, tagged t:
+ * player (x, y, t) plays console (x + y × s) mod q in session s, in group t.
+ * Every line crosses each session and each console once, and two lines
+ * cross at most once, so two players meet at most once.
+ *
+ * This seats up to nbTags × q × (q - 1) players, q - 1 per group. It applies
+ * when every console has at least q - 1 seats per group and nbTags groups;
+ * otherwise the planning is left to generateInitialPlanning and the local
+ * search.
+ */
+public final class ResolvableDesign {
+
+    private ResolvableDesign() {
+    }
+
+    /**
+     * Whether the configuration has a constructive design.
+     */
+    public static boolean applies(TournamentConfig config) {
+        return nbTags(config) > 0;
+    }
+
+    /**
+     * Number of groups used per console and session, or 0 if no design
+     * applies.
+     */
+    static int nbTags(TournamentConfig config) {
+        int q = config.getConsoles().size();
+        if (q < 2 || !isPrime(q) || config.getNbSessions() != q || config.getNbJoueurs() < 1) {
+            return 0;
+        }
+
+        int playersPerTag = q * (q - 1);
+        int nbTags = (config.getNbJoueurs() + playersPerTag - 1) / playersPerTag;
+        for (Console console : config.getConsoles()) {
+            if (console.getJoueursParPartie() < q - 1 || console.getNbGroupes() < nbTags) {
+                return 0;
+            }
+        }
+        return nbTags;
+    }
+
+    /**
+     * Builds the design with random player labels, so that repeated calls
+     * give different (equally optimal) plannings.
+     *
+     * @throws IllegalArgumentException if no design applies
+     */
+    public static CompactPlanning build(TournamentConfig config, TournamentPlanningService service) {
+        int nbTags = nbTags(config);
+        if (nbTags == 0) {
+            throw new IllegalArgumentException("No constructive design for this configuration");
+        }
+        int q = config.getConsoles().size();
+
+        // Lines in drop order: tags alternate, then a slope class is emptied x by x,
+        // so that extra lines are removed evenly from the groups
+        List<int[]> lines = new ArrayList<>();
+        for (int y = q - 1; y >= 1; y--) {
+            for (int x = 0; x < q; x++) {
+                for (int t = 0; t < nbTags; t++) {
+                    lines.add(new int[] { x, y, t });
+                }
+            }
+        }
+        List<int[]> kept = lines.subList(lines.size() - config.getNbJoueurs(), lines.size());
+
+        List<Integer> players = new ArrayList<>();
+        for (int i = 1; i <= config.getNbJoueurs(); i++) {
+            players.add(i);
+        }
+        Collections.shuffle(players, service.getRandom());
+
+        CompactPlanning planning = new CompactPlanning(service.getLayout());
+        for (int s = 0; s < q; s++) {
+            for (int i = 0; i < kept.size(); i++) {
+                int[] line = kept.get(i);
+                int console = (line[0] + line[1] * s) % q;
+                planning.addPlayer(console, s, line[2], players.get(i));
+            }
+        }
+        return planning;
+    }
+
+    private static boolean isPrime(int n) {
+        for (int d = 2; d * d <= n; d++) {
+            if (n % d == 0) {
+                return false;
+            }
+        }
+        return n >= 2;
+    }
+}
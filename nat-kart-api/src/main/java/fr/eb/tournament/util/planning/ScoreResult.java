@@ -17,12 +17,20 @@ public class ScoreResult {
     private Map<Integer, Integer> distribution; // Distribution of encounters: key=nb encounters, value=nb pairs
     private int collisions; // Number of repeated encounters
     private int maxRencontres; // Maximum encounters between any two players
+    private double lowerBound; // No planning with the same group sizes can score lower
+
+    /**
+     * Relative distance to the lower bound: 0 means provably optimal.
+     */
+    public double getOptimalityGap() {
+        return lowerBound > 0 ? (score - lowerBound) / lowerBound : 0;
+    }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append(
-                String.format("Score: %.0f | Collisions: %d | Max rencontres: %d%n", score, collisions, maxRencontres));
+        sb.append(String.format("Score: %.0f | Collisions: %d | Max rencontres: %d | Borne: %.0f (écart %.1f%%)%n",
+                score, collisions, maxRencontres, lowerBound, getOptimalityGap() * 100));
 
         int total = distribution.values().stream().mapToInt(Integer::intValue).sum();
 
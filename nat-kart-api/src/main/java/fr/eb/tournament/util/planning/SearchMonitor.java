@@ -0,0 +1,67 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Link between a running LocalSearch and the optimizer: tells the search when
+ * to stop and collects its progress. Every displayInterval iterations, the
+ * best planning of the search is published to the shared best (so it can be
+ * read while the search runs) and a PlanningProgress is emitted.
+ *
+ * A monitor belongs to one restart and is used by one thread at a time.
+ */
+public class SearchMonitor {
+    private final BooleanSupplier stopRequested;
+    private final ProgressTracker tracker; // null: progress is not reported
+    private final int reportInterval;
+    private long pendingIterations; // Done since the last report
+
+    /**
+     * Monitor that only relays stop requests.
+     */
+    public SearchMonitor(BooleanSupplier stopRequested) {
+        this(stopRequested, null, 0);
+    }
+
+    SearchMonitor(BooleanSupplier stopRequested, ProgressTracker tracker, int reportInterval) {
+        this.stopRequested = stopRequested;
+        this.tracker = tracker;
+        this.reportInterval = reportInterval;
+    }
+
+    /**
+     * Checked every iteration: cancellation, time budget or another restart
+     * reaching the stopping criterion.
+     */
+    public boolean isStopRequested() {
+        return stopRequested.getAsBoolean();
+    }
+
+    /**
+     * Counts iterations done by the search.
+     *
+     * @param best           best planning of the search so far (copied if
+     *                       reported, never kept)
+     * @param bestEncounters encounters of that planning
+     */
+    public void iterationsDone(int nbIterations, CompactPlanning best, EncounterMatrix bestEncounters) {
+        pendingIterations += nbIterations;
+        if (tracker != null && reportInterval > 0 && pendingIterations >= reportInterval) {
+            report(best, bestEncounters);
+        }
+    }
+
+    /**
+     * Reports the last iterations and the final planning of the search.
+     */
+    void finish(CompactPlanning best, EncounterMatrix bestEncounters) {
+        if (tracker != null) {
+            report(best, bestEncounters);
+        }
+    }
+
+    private void report(CompactPlanning best, EncounterMatrix bestEncounters) {
+        tracker.report(pendingIterations, best, bestEncounters);
+        pendingIterations = 0;
+    }
+}
@@ -0,0 +1,61 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.List;
+
+/**
+ * Number of sessions of an event and console-to-session layout.
+ *
+ * Every player plays every console exactly once, at most one game per
+ * session. A player therefore needs one session per console, and a console
+ * seating joueursParPartie × nbGroupes players at once needs
+ * ceil(nbJoueurs / capacity) sessions to seat everyone. The minimum number
+ * of sessions is the larger of the two, and it is always reachable (bipartite
+ * f-colouring bound) with the cyclic layout below.
+ *
+ * Cyclic layout: players are split into nbSessions balanced blocks and, in
+ * session s, console c hosts block (s + c) mod nbSessions. Each block plays
+ * every console once in distinct sessions and sits the other sessions out;
+ * a console never hosts more than ceil(nbJoueurs / nbSessions) players.
+ */
+public final class SessionSizing {
+
+    private SessionSizing() {
+    }
+
+    /**
+     * Fewest sessions that seat every player on every console once.
+     *
+     * @throws IllegalArgumentException if a console seats nobody
+     */
+    public static int minimumSessions(int nbJoueurs, List<Console> consoles) {
+        if (consoles == null) {
+            return 0;
+        }
+        int nbSessions = consoles.size();
+        for (Console console : consoles) {
+            if (console.getCapacity() < 1) {
+                throw new IllegalArgumentException(console.getNom() + " seats no player");
+            }
+            nbSessions = Math.max(nbSessions, (nbJoueurs + console.getCapacity() - 1) / console.getCapacity());
+        }
+        return nbSessions;
+    }
+
+    /**
+     * Block of players hosted by a console in a session (cyclic layout).
+     */
+    public static int blockOf(int console, int session, int nbSessions) {
+        return (session + console) % nbSessions;
+    }
+
+    /**
+     * Sizes of the nbSessions player blocks: balanced, larger blocks first.
+     */
+    public static int[] blockSizes(int nbJoueurs, int nbSessions) {
+        int[] sizes = new int[nbSessions];
+        for (int b = 0; b < nbSessions; b++) {
+            sizes[b] = nbJoueurs / nbSessions + (b < nbJoueurs % nbSessions ? 1 : 0);
+        }
+        return sizes;
+    }
+}
@@ -0,0 +1,110 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.SplittableRandom;
+
+/**
+ * Simulated annealing: a move lowering or keeping the score is always
+ * accepted, a move raising it by delta with probability exp(-delta / T).
+ * T follows the cooling schedule over nbIterationsParRelance iterations.
+ *
+ * A start or end temperature of 0 is calibrated on the deltas of moves
+ * sampled from the initial planning: at start, an average worsening move is
+ * accepted half of the time; at the end, the smallest one 1% of the time.
+ */
+@Slf4j
+public class SimulatedAnnealing implements LocalSearch {
+    private static final int CALIBRATION_MOVES = 200;
+    private static final double START_ACCEPTANCE = 0.5;
+    private static final double END_ACCEPTANCE = 0.01;
+
+    private final TournamentConfig config;
+    private final TournamentPlanningService service;
+    private final SplittableRandom random;
+
+    public SimulatedAnnealing(TournamentConfig config, TournamentPlanningService service) {
+        this.config = config;
+        this.service = service;
+        this.random = service.getRandom();
+    }
+
+    @Override
+    public boolean optimize(CompactPlanning planning, EncounterMatrix encounters, SearchMonitor monitor) {
+        SwapMove move = new SwapMove();
+        double[] temperatures = calibrate(config, service, planning, encounters);
+        double startTemperature = temperatures[0];
+        double endTemperature = temperatures[1];
+        log.debug("Annealing from T={} to T={}", startTemperature, endTemperature);
+
+        // Best planning of the run: the current one may get worse
+        CompactPlanning best = planning.copy();
+        EncounterMatrix bestEncounters = encounters.copy();
+        boolean optimal = false;
+
+        int nbIterations = config.getNbIterationsParRelance();
+        for (int i = 0; i < nbIterations && !optimal && !monitor.isStopRequested(); i++) {
+            if (service.proposeRandomSwap(planning, encounters, move)) {
+                double temperature = config.getCoolingSchedule()
+                        .temperature(startTemperature, endTemperature, (double) i / nbIterations);
+                double delta = service.deltaScore(planning, encounters, move);
+
+                if (delta <= 0 || random.nextDouble() < Math.exp(-delta / temperature)) {
+                    service.applyMove(planning, encounters, move);
+
+                    if (encounters.getScore() < bestEncounters.getScore()) {
+                        best.copyFrom(planning);
+                        bestEncounters.copyFrom(encounters);
+                        optimal = service.isStopReached(encounters);
+                    }
+                }
+            }
+
+            monitor.iterationsDone(1, best, bestEncounters);
+        }
+
+        planning.copyFrom(best);
+        encounters.copyFrom(bestEncounters);
+        return optimal;
+    }
+
+    /**
+     * Start and end temperatures, from the configuration or calibrated on
+     * sampled moves (the planning is left unchanged). Also gives the hottest
+     * and coldest replicas of ParallelTempering.
+     */
+    static double[] calibrate(TournamentConfig config, TournamentPlanningService service,
+            CompactPlanning planning, EncounterMatrix encounters) {
+        double startTemperature = config.getAnnealingStartTemperature();
+        double endTemperature = config.getAnnealingEndTemperature();
+
+        if (startTemperature <= 0 || endTemperature <= 0) {
+            SwapMove move = new SwapMove();
+            double sum = 0;
+            int nbWorse = 0;
+            double minWorse = Double.MAX_VALUE;
+            for (int i = 0; i < CALIBRATION_MOVES; i++) {
+                if (service.proposeRandomSwap(planning, encounters, move)) {
+                    double delta = service.deltaScore(planning, encounters, move);
+                    if (delta > 0) {
+                        sum += delta;
+                        nbWorse++;
+                        minWorse = Math.min(minWorse, delta);
+                    }
+                }
+            }
+
+            // No worsening move sampled: any positive temperature behaves the same
+            double averageWorse = nbWorse > 0 ? sum / nbWorse : EncounterMatrix.PENALTY_FACTOR;
+            minWorse = nbWorse > 0 ? minWorse : EncounterMatrix.PENALTY_FACTOR;
+            if (startTemperature <= 0) {
+                startTemperature = -averageWorse / Math.log(START_ACCEPTANCE);
+            }
+            if (endTemperature <= 0) {
+                endTemperature = -minWorse / Math.log(END_ACCEPTANCE);
+            }
+        }
+
+        return new double[] { startTemperature, Math.min(endTemperature, startTemperature) };
+    }
+}
@@ -0,0 +1,59 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.Arrays;
+
+/**
+ * A proposed move on a CompactPlanning: a few seat exchanges
+ * (slotA[i] ↔ slotB[i]), expressed as flat slot indices. Swap1 uses one
+ * exchange, swap2 one per session it goes through.
+ *
+ * Instances are reused across iterations so that proposing, scoring and
+ * rejecting a move allocates nothing.
+ */
+public class SwapMove {
+    private static final int INITIAL_EXCHANGES = 2;
+
+    private int nbExchanges;
+    private int[] slotsA = new int[INITIAL_EXCHANGES];
+    private int[] slotsB = new int[INITIAL_EXCHANGES];
+
+    public void clear() {
+        nbExchanges = 0;
+    }
+
+    /**
+     * Overwrites this move with another one.
+     */
+    public void copyFrom(SwapMove other) {
+        clear();
+        for (int e = 0; e < other.nbExchanges; e++) {
+            addExchange(other.slotsA[e], other.slotsB[e]);
+        }
+    }
+
+    public void addExchange(int slotA, int slotB) {
+        if (nbExchanges == slotsA.length) {
+            slotsA = Arrays.copyOf(slotsA, nbExchanges * 2);
+            slotsB = Arrays.copyOf(slotsB, nbExchanges * 2);
+        }
+        slotsA[nbExchanges] = slotA;
+        slotsB[nbExchanges] = slotB;
+        nbExchanges++;
+    }
+
+    public int getNbExchanges() {
+        return nbExchanges;
+    }
+
+    public int getSlotA(int exchange) {
+        return slotsA[exchange];
+    }
+
+    public int getSlotB(int exchange) {
+        return slotsB[exchange];
+    }
+
+    public boolean isEmpty() {
+        return nbExchanges == 0;
+    }
+}
@@ -0,0 +1,199 @@
+package fr.eb.tournament.util.planning;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Tabu search: every iteration scans the swap1 and swap2 moves of the
+ * players involved in collisions and applies the best one, even if it
+ * raises the score. Each (player, session) moved stays tabu for tabuTenure
+ * iterations; a tabu move is only allowed if it beats the best score of the
+ * run (aspiration).
+ *
+ * An iteration scores a whole neighbourhood, so far fewer iterations than
+ * hill climbing are needed.
+ */
+public class TabuSearch implements LocalSearch {
+
+    private final TournamentConfig config;
+    private final TournamentPlanningService service;
+    private final PlanningLayout layout;
+    private final SplittableRandom random;
+
+    // Scan state of the current iteration
+    private final SwapMove move = new SwapMove();
+    private final SwapMove chosen = new SwapMove();
+    private int[] tabuUntil; // (player, session) → first iteration where it can move again
+    private int iteration;
+    private double chosenDelta;
+    private int nbTies;
+    private double bestScore;
+
+    public TabuSearch(TournamentConfig config, TournamentPlanningService service) {
+        this.config = config;
+        this.service = service;
+        this.layout = service.getLayout();
+        this.random = service.getRandom();
+    }
+
+    @Override
+    public boolean optimize(CompactPlanning planning, EncounterMatrix encounters, SearchMonitor monitor) {
+        tabuUntil = new int[(config.getNbJoueurs() + 1) * layout.getNbSessions()];
+        boolean[] colliding = new boolean[config.getNbJoueurs() + 1];
+
+        // Best planning of the run: the current one may get worse
+        CompactPlanning best = planning.copy();
+        EncounterMatrix bestEncounters = encounters.copy();
+        bestScore = encounters.getScore();
+        boolean optimal = service.isStopReached(encounters);
+
+        for (iteration = 0; iteration < config.getNbIterationsParRelance()
+                && !optimal && !monitor.isStopRequested(); iteration++) {
+            markCollidingPlayers(encounters, colliding);
+
+            chosen.clear();
+            chosenDelta = Double.MAX_VALUE;
+            nbTies = 0;
+            for (int player = 1; player <= config.getNbJoueurs(); player++) {
+                if (colliding[player]) {
+                    scanMoves(planning, encounters, player);
+                }
+            }
+
+            // Every move is tabu and none beats the best score
+            if (chosen.isEmpty()) {
+                break;
+            }
+
+            service.applyMove(planning, encounters, chosen);
+            makeTabu(planning, chosen);
+
+            if (encounters.getScore() < bestScore) {
+                best.copyFrom(planning);
+                bestEncounters.copyFrom(encounters);
+                bestScore = encounters.getScore();
+                optimal = service.isStopReached(encounters);
+            }
+
+            monitor.iterationsDone(1, best, bestEncounters);
+        }
+
+        planning.copyFrom(best);
+        encounters.copyFrom(bestEncounters);
+        return optimal;
+    }
+
+    /**
+     * Scores every swap1, swap2 and bye swap move of a player and keeps the
+     * best allowed one in {@code chosen}.
+     */
+    private void scanMoves(CompactPlanning planning, EncounterMatrix encounters, int player) {
+        for (int s1 = 0; s1 < layout.getNbSessions(); s1++) {
+            int posA_s1 = planning.slotOf(player, s1);
+            if (posA_s1 < 0) {
+                continue;
+            }
+            int groupA = layout.groupOfSlot(posA_s1);
+            int console = layout.consoleOfGroup(groupA);
+
+            // Swap1: trade seats with a player of another group, same console and session
+            for (int g = 0; g < layout.getConsole(console).getNbGroupes(); g++) {
+                int group = layout.groupIndex(console, s1, g);
+                if (group != groupA) {
+                    for (int seat = 0; seat < planning.groupSizeAt(group); seat++) {
+                        move.clear();
+                        move.addExchange(posA_s1, layout.slotIndex(group, seat));
+                        consider(planning, encounters);
+                    }
+                }
+            }
+
+            // Swap2: start the chain with any player of A's s1 console in s2
+            for (int s2 = 0; s2 < layout.getNbSessions(); s2++) {
+                int posA_s2 = planning.slotOf(player, s2);
+                if (s2 != s1 && posA_s2 >= 0) {
+                    for (int g = 0; g < layout.getConsole(console).getNbGroupes(); g++) {
+                        int group = layout.groupIndex(console, s2, g);
+                        for (int seat = 0; seat < planning.groupSizeAt(group); seat++) {
+                            if (service.buildSwap2(planning, posA_s1, posA_s2, layout.slotIndex(group, seat), move)) {
+                                consider(planning, encounters);
+                            }
+                        }
+                    }
+                } else if (s2 != s1) {
+                    // Bye swap: A sits s2 out, trade seats with a player of the console who sits s1 out
+                    for (int g = 0; g < layout.getConsole(console).getNbGroupes(); g++) {
+                        int group = layout.groupIndex(console, s2, g);
+                        for (int seat = 0; seat < planning.groupSizeAt(group); seat++) {
+                            int slot = layout.slotIndex(group, seat);
+                            if (planning.slotOf(planning.playerAt(slot), s1) < 0) {
+                                move.clear();
+                                move.addExchange(posA_s1, slot);
+                                consider(planning, encounters);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps {@code move} if it is the best allowed move so far (ties broken
+     * at random).
+     */
+    private void consider(CompactPlanning planning, EncounterMatrix encounters) {
+        double delta = service.deltaScore(planning, encounters, move);
+        if (delta > chosenDelta) {
+            return;
+        }
+        boolean allowed = !isTabu(planning, move) || encounters.getScore() + delta < bestScore;
+        if (allowed) {
+            nbTies = delta < chosenDelta ? 1 : nbTies + 1;
+            if (random.nextInt(nbTies) == 0) {
+                chosen.copyFrom(move);
+                chosenDelta = delta;
+            }
+        }
+    }
+
+    private boolean isTabu(CompactPlanning planning, SwapMove candidate) {
+        for (int e = 0; e < candidate.getNbExchanges(); e++) {
+            if (tabuUntil[tabuIndex(planning, candidate.getSlotA(e))] > iteration
+                    || tabuUntil[tabuIndex(planning, candidate.getSlotB(e))] > iteration) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Forbids moving again the players of an applied move in its sessions.
+     */
+    private void makeTabu(CompactPlanning planning, SwapMove applied) {
+        for (int e = 0; e < applied.getNbExchanges(); e++) {
+            tabuUntil[tabuIndex(planning, applied.getSlotA(e))] = iteration + 1 + config.getTabuTenure();
+            tabuUntil[tabuIndex(planning, applied.getSlotB(e))] = iteration + 1 + config.getTabuTenure();
+        }
+    }
+
+    private int tabuIndex(CompactPlanning planning, int slot) {
+        int session = layout.sessionOfGroup(layout.groupOfSlot(slot));
+        return planning.playerAt(slot) * layout.getNbSessions() + session;
+    }
+
+    /**
+     * Marks the players of every pair that met more than once.
+     */
+    private void markCollidingPlayers(EncounterMatrix encounters, boolean[] colliding) {
+        Arrays.fill(colliding, false);
+        for (int i = 1; i <= config.getNbJoueurs(); i++) {
+            for (int j = i + 1; j <= config.getNbJoueurs(); j++) {
+                if (encounters.get(i, j) > 1) {
+                    colliding[i] = true;
+                    colliding[j] = true;
+                }
+            }
+        }
+    }
+}
@@ -1,6 +1,5 @@
 package fr.eb.tournament.util.planning;
 
-import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -11,7 +10,6 @@ import java.util.List;
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class TournamentConfig {
     private int nbJoueurs; // Total number of players
     private int nbRelances; // Number of restarts to find best planning
@@ -19,8 +17,45 @@ public class TournamentConfig {
     private List<Console> consoles; // List of consoles
     private int displayInterval; // Display progress every N iterations
     private int earlyStoppingThreshold; // Stop if max encounters <= this value
+    private int nbSessions = 0; // Sessions of the event (0 = minimum, see SessionSizing)
 
+    // Optional algorithm settings (with defaults)
+    private VisitedStatesMode visitedStatesMode = VisitedStatesMode.HASH_SET; // Memory of tested plannings
+    private int visitedStatesCapacity = 1_000_000; // Max remembered plannings per restart
+    private double visitedStatesFalsePositiveRate = 0.01; // BLOOM only
+    private InitialPlanningMode initialPlanningMode = InitialPlanningMode.RANDOM; // Start of each restart
+    private int parallelism = 0; // Worker threads for restarts (0 = all cores)
+    private long timeBudgetMs = 0; // Wall-clock limit of the optimisation, best planning so far returned (0 = none)
+    private Long seed = null; // Random seed: same seed and configuration, same planning (null = random)
+    private boolean constructiveDesign = true; // Build zero-repeat plannings directly when possible (see ResolvableDesign)
+    private OptimizationStrategy strategy = OptimizationStrategy.HILL_CLIMBING; // Local search of each restart
+    private double annealingStartTemperature = 0; // SIMULATED_ANNEALING only (0 = calibrated)
+    private double annealingEndTemperature = 0; // SIMULATED_ANNEALING only (0 = calibrated)
+    private CoolingSchedule coolingSchedule = CoolingSchedule.GEOMETRIC; // SIMULATED_ANNEALING only
+    private int tabuTenure = 10; // TABU only: iterations a moved (player, session) stays tabu
+    private int temperingReplicas = 0; // PARALLEL_TEMPERING only (0 = parallelism)
+    private int temperingExchangeInterval = 100; // PARALLEL_TEMPERING only: iterations between exchanges
+    private int lateAcceptanceLength = 5; // LATE_ACCEPTANCE only: iterations before a score is compared
+    private int geneticIslands = 0; // GENETIC only (0 = parallelism)
+    private int geneticPopulationSize = 20; // GENETIC only: plannings per island
+    private int geneticMigrationInterval = 10; // GENETIC only: generations between migrations
+    private int geneticLocalIterations = 100; // GENETIC only: swap moves tried on each child
+
+    public TournamentConfig(int nbJoueurs, int nbRelances, int nbIterationsParRelance, List<Console> consoles,
+            int displayInterval, int earlyStoppingThreshold) {
+        this.nbJoueurs = nbJoueurs;
+        this.nbRelances = nbRelances;
+        this.nbIterationsParRelance = nbIterationsParRelance;
+        this.consoles = consoles;
+        this.displayInterval = displayInterval;
+        this.earlyStoppingThreshold = earlyStoppingThreshold;
+    }
+
+    /**
+     * Sessions of the event: nbSessions, or the fewest that seat every
+     * player on every console once (see SessionSizing).
+     */
     public int getNbSessions() {
-        return consoles.size();
+        return nbSessions > 0 ? nbSessions : SessionSizing.minimumSessions(nbJoueurs, consoles);
     }
 }
@@ -41,7 +41,7 @@ public class TournamentMakerTest {
 
         TournamentPlanningService service = new TournamentPlanningService(config);
 
-        Planning bestPlanningGlobal = null;
+        CompactPlanning bestPlanningGlobal = null;
         double bestScoreGlobal = Double.MAX_VALUE;
         List<RelanceStats> allStats = new ArrayList<>();
 
@@ -81,11 +81,11 @@ public class TournamentMakerTest {
         System.out.println("║  RÉSULTAT FINAL - MEILLEUR PLANNING               ║");
         System.out.println("╚═══════════════════════════════════════════════════╝\n");
 
-        Map<String, Integer> finalEncounters = service.calculateEncounters(bestPlanningGlobal);
+        EncounterMatrix finalEncounters = service.calculateEncounters(bestPlanningGlobal);
         ScoreResult finalScore = service.calculateScore(finalEncounters);
         System.out.println(finalScore);
 
-        displayPlanning(bestPlanningGlobal, config);
+        displayPlanning(bestPlanningGlobal.toPlanning(), config);
 
         System.out.println("\n📈 Statistiques des relances :");
         for (RelanceStats stats : allStats) {
@@ -100,7 +100,7 @@ public class TournamentMakerTest {
     private static OptimizationResult runOptimization(TournamentPlanningService service,
             TournamentConfig config, int relanceNumber) {
         // Generate initial planning
-        Planning planning = service.generateInitialPlanning();
+        CompactPlanning planning = service.generateInitialPlanning();
 
         System.out.println("\n🔍 Validation du planning initial...");
         if (!service.validatePlanning(planning)) {
@@ -109,67 +109,68 @@ public class TournamentMakerTest {
         }
         System.out.println("✅ Planning initial VALIDE !");
 
-        Map<String, Integer> encounters = service.calculateEncounters(planning);
+        EncounterMatrix encounters = service.calculateEncounters(planning);
         ScoreResult scoreObj = service.calculateScore(encounters);
         System.out.println("\nInitial " + scoreObj);
 
-        Planning bestPlanning = planning;
+        CompactPlanning bestPlanning = planning;
         double bestScore = scoreObj.getScore();
         int improvements = 0;
-        Set<String> testedHashes = new HashSet<>();
+        VisitedStates testedHashes = VisitedStates.create(config);
         int swap1Count = 0;
         int swap2Count = 0;
         int swap2TargetedCount = 0;
 
-        String initialHash = service.getPlanningHash(planning);
+        long initialHash = service.getPlanningHash(planning);
         testedHashes.add(initialHash);
 
         System.out.println("\n🔄 Optimisation en cours...");
 
+        SwapMove move = new SwapMove();
+
         for (int i = 0; i < config.getNbIterationsParRelance(); i++) {
             // Choose swap type randomly
-            boolean useSwap1 = new Random().nextBoolean();
+            boolean useSwap1 = service.getRandom().nextBoolean();
+            boolean proposed;
 
-            Planning newPlanning;
             if (useSwap1) {
-                newPlanning = service.swap1IntraSession(bestPlanning);
+                proposed = service.proposeSwap1(bestPlanning, move);
                 swap1Count++;
             } else {
-                boolean targetCollisions = new Random().nextInt(100) < 70; // 70% probability
+                boolean targetCollisions = service.getRandom().nextInt(100) < 70; // 70% probability
                 if (targetCollisions) {
                     swap2TargetedCount++;
                 }
-                Map<String, Integer> currentEncounters = service.calculateEncounters(bestPlanning);
-                newPlanning = service.swap2InterSessions(bestPlanning, currentEncounters, targetCollisions);
+                proposed = service.proposeSwap2(bestPlanning, encounters, targetCollisions, move);
                 swap2Count++;
             }
 
-            if (service.validatePlanning(newPlanning)) {
-                String newHash = service.getPlanningHash(newPlanning);
+            // Skip already tested plannings, score the rest incrementally and
+            // apply the move in place only if it improves
+            boolean improved = proposed
+                    && testedHashes.add(service.getPlanningHash(bestPlanning, move))
+                    && service.deltaScore(bestPlanning, encounters, move) < 0;
 
-                if (!testedHashes.contains(newHash)) {
-                    testedHashes.add(newHash);
+            if (improved) {
+                service.applyMove(bestPlanning, encounters, move);
+                bestScore = encounters.getScore();
+            }
 
-                    Map<String, Integer> newEncounters = service.calculateEncounters(newPlanning);
-                    ScoreResult newScoreObj = service.calculateScore(newEncounters);
+            // Moves keep the planning valid by construction: only checked with -ea
+            assert !improved || service.validatePlanning(bestPlanning);
 
-                    if (newScoreObj.getScore() < bestScore) {
-                        bestPlanning = newPlanning;
-                        bestScore = newScoreObj.getScore();
-                        improvements++;
+            if (improved) {
+                improvements++;
 
-                        if (newScoreObj.getMaxRencontres() <= config.getEarlyStoppingThreshold()) {
-                            System.out.println("\n🎯 SCORE OPTIMAL ATTEINT ! Arrêt de cette relance.");
-                            return new OptimizationResult(bestPlanning, newScoreObj, improvements,
-                                    testedHashes.size(), swap1Count, swap2Count, swap2TargetedCount, true);
-                        }
-                    }
+                if (service.isStopReached(encounters)) {
+                    System.out.println("\n🎯 SCORE OPTIMAL ATTEINT ! Arrêt de cette relance.");
+                    return new OptimizationResult(bestPlanning, service.calculateScore(encounters), improvements,
+                            testedHashes.size(), swap1Count, swap2Count, swap2TargetedCount, true);
                 }
             }
 
             if ((i + 1) % config.getDisplayInterval() == 0) {
-                Map<String, Integer> currentEncounters = service.calculateEncounters(bestPlanning);
-                ScoreResult currentScore = service.calculateScore(currentEncounters);
+                ScoreResult currentScore = service.calculateScore(encounters);
                 System.out.println("\n🔄 Itération " + (i + 1) + "/" + config.getNbIterationsParRelance() +
                         " | Améliorations: " + improvements + " | Hash uniques: " + testedHashes.size());
                 System.out.println("   Swap1: " + swap1Count + " | Swap2: " + swap2Count +
@@ -178,8 +179,10 @@ public class TournamentMakerTest {
             }
         }
 
-        Map<String, Integer> finalEncounters = service.calculateEncounters(bestPlanning);
-        ScoreResult finalScoreObj = service.calculateScore(finalEncounters);
+        ScoreResult finalScoreObj = service.calculateScore(encounters);
+        System.out.println(service.validatePlanning(bestPlanning)
+                ? "✅ Planning final VALIDE !"
+                : "❌ Planning final INVALIDE !");
 
         System.out.println("\n📊 Résultat de la relance " + relanceNumber + " :");
         System.out.println("Configurations uniques testées: " + testedHashes.size());
@@ -248,7 +251,7 @@ public class TournamentMakerTest {
     // ══════════════════════════════════════════════════════════════════
 
     private static class OptimizationResult {
-        Planning planning;
+        CompactPlanning planning;
         ScoreResult scoreObj;
         int improvements;
         int uniqueHashes;
@@ -257,7 +260,7 @@ public class TournamentMakerTest {
         int swap2TargetedCount;
         boolean optimalReached;
 
-        OptimizationResult(Planning planning, ScoreResult scoreObj, int improvements,
+        OptimizationResult(CompactPlanning planning, ScoreResult scoreObj, int improvements,
                 int uniqueHashes, int swap1Count, int swap2Count,
                 int swap2TargetedCount, boolean optimalReached) {
             this.planning = planning;
@@ -1,6 +1,6 @@
 package fr.eb.tournament.util.planning;
 
-import lombok.RequiredArgsConstructor;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
@@ -10,21 +10,65 @@ import java.util.*;
  * Implements the same algorithm as the PowerShell script rencontres.ps1
  */
 @Slf4j
-@RequiredArgsConstructor
 public class TournamentPlanningService {
 
     private final TournamentConfig config;
-    private final Random random = new Random();
+    @Getter
+    private final PlanningLayout layout;
+    @Getter
+    private final SplittableRandom random; // Shared with the local searches of this worker only
+    @Getter
+    private int nbFrozenSessions = 0; // Leading sessions no move may change (already played)
+
+    private static final int COLLISION_TARGETS = 20; // swap2 targets one of the 20 most repeated pairs
+    private static final int TARGETED_SWAP2_PERCENT = 70; // Share of swap2 moves aimed at collisions
+
+    /**
+     * Service with a random generator seeded from config.seed, if any.
+     */
+    public TournamentPlanningService(TournamentConfig config) {
+        this(config, config.getSeed() != null ? new SplittableRandom(config.getSeed()) : new SplittableRandom());
+    }
+
+    public TournamentPlanningService(TournamentConfig config, SplittableRandom random) {
+        this.config = config;
+        this.layout = new PlanningLayout(config);
+        this.random = random;
+    }
+
+    /**
+     * Service for another worker of the same search (restart, replica,
+     * island): same configuration, random generator split from this one.
+     * Splits drawn in the same order give the same streams for a seed.
+     */
+    public TournamentPlanningService split() {
+        return new TournamentPlanningService(config, random.split());
+    }
+
+    /**
+     * Freezes the first sessions (already played): swap moves are only drawn
+     * in the sessions after them. 0 by default.
+     */
+    public void setNbFrozenSessions(int nbFrozenSessions) {
+        if (nbFrozenSessions < 0 || nbFrozenSessions > layout.getNbSessions()) {
+            throw new IllegalArgumentException("Frozen sessions must be between 0 and " + layout.getNbSessions()
+                    + ": " + nbFrozenSessions);
+        }
+        this.nbFrozenSessions = nbFrozenSessions;
+    }
 
     // ══════════════════════════════════════════════════════════════════════
     // PLANNING GENERATION
     // ══════════════════════════════════════════════════════════════════════
 
     /**
-     * Generates an initial planning with balanced player distribution.
+     * Generates an initial planning with balanced player distribution, laid
+     * out cyclically (see SessionSizing): with more sessions than consoles,
+     * players sit the extra sessions out. Groups are filled in shuffled
+     * order, or greedily by fewest encounters (see InitialPlanningMode).
      */
-    public Planning generateInitialPlanning() {
-        Planning planning = new Planning();
+    public CompactPlanning generateInitialPlanning() {
+        CompactPlanning planning = new CompactPlanning(layout);
 
         // Shuffle players
         List<Integer> shuffledPlayers = new ArrayList<>();
@@ -33,69 +77,113 @@ public class TournamentPlanningService {
         }
         Collections.shuffle(shuffledPlayers, random);
 
-        int nbSessions = config.getNbSessions();
-        int playersPerSession = config.getNbJoueurs() / nbSessions;
-        int remainder = config.getNbJoueurs() % nbSessions;
+        int nbSessions = layout.getNbSessions();
+        int[] blockSizes = SessionSizing.blockSizes(config.getNbJoueurs(), nbSessions);
 
-        // Distribute players across sessions
+        // Distribute players across blocks
         List<List<Integer>> sessionGroups = new ArrayList<>();
         int index = 0;
 
-        for (int s = 0; s < nbSessions; s++) {
-            int nbPlayersThisSession = playersPerSession;
-            if (s < remainder) {
-                nbPlayersThisSession++;
+        for (int b = 0; b < nbSessions; b++) {
+            List<Integer> playersInBlock = new ArrayList<>();
+            for (int i = 0; i < blockSizes[b]; i++) {
+                playersInBlock.add(shuffledPlayers.get(index++));
             }
-
-            List<Integer> playersInSession = new ArrayList<>();
-            for (int i = 0; i < nbPlayersThisSession; i++) {
-                playersInSession.add(shuffledPlayers.get(index++));
-            }
-            sessionGroups.add(playersInSession);
+            sessionGroups.add(playersInBlock);
         }
 
+        // Greedy mode: encounters of the groups built so far
+        EncounterMatrix greedyEncounters = config.getInitialPlanningMode() == InitialPlanningMode.GREEDY
+                ? new EncounterMatrix(config.getNbJoueurs())
+                : null;
+
         // Create planning structure for each console
-        for (Console console : config.getConsoles()) {
-            Map<Integer, List<List<Integer>>> consoleSessions = new HashMap<>();
+        for (int c = 0; c < layout.getNbConsoles(); c++) {
+            Console console = layout.getConsole(c);
 
             for (int session = 0; session < nbSessions; session++) {
-                int sessionIdx = (session + config.getConsoles().indexOf(console)) % nbSessions;
-                List<Integer> playersInSession = sessionGroups.get(sessionIdx);
-
-                List<List<Integer>> groups = new ArrayList<>();
+                List<Integer> playersInSession = sessionGroups.get(SessionSizing.blockOf(c, session, nbSessions));
+                int[] groupSizes = splitIntoGroups(playersInSession.size(), console);
 
-                int nbGroupsNeeded = (int) Math.ceil((double) playersInSession.size() / console.getJoueursParPartie());
-                int nbActiveGroups = Math.min(nbGroupsNeeded, console.getNbGroupes());
+                if (greedyEncounters != null) {
+                    playersInSession = orderByFewestEncounters(playersInSession, groupSizes, greedyEncounters);
+                }
 
                 int idx = 0;
-                int playersRemaining = playersInSession.size();
+                for (int g = 0; g < groupSizes.length; g++) {
+                    for (int j = 0; j < groupSizes[g]; j++) {
+                        planning.addPlayer(c, session, g, playersInSession.get(idx++));
+                    }
+                }
+                // Remaining groups stay empty
+            }
+        }
 
-                for (int g = 0; g < nbActiveGroups; g++) {
-                    int groupsRemaining = nbActiveGroups - g;
-                    int playersInGroup = (int) Math.ceil((double) playersRemaining / groupsRemaining);
-                    playersInGroup = Math.min(playersInGroup, console.getJoueursParPartie());
+        return planning;
+    }
 
-                    List<Integer> group = new ArrayList<>();
-                    for (int j = 0; j < playersInGroup && idx < playersInSession.size(); j++) {
-                        group.add(playersInSession.get(idx++));
-                    }
+    /**
+     * Helper: Balanced group sizes for the players of a console session,
+     * as few groups as possible, at most joueursParPartie each.
+     */
+    static int[] splitIntoGroups(int nbPlayers, Console console) {
+        int nbGroupsNeeded = (int) Math.ceil((double) nbPlayers / console.getJoueursParPartie());
+        int nbActiveGroups = Math.min(nbGroupsNeeded, console.getNbGroupes());
+        int[] groupSizes = new int[nbActiveGroups];
+
+        int playersRemaining = nbPlayers;
+        for (int g = 0; g < nbActiveGroups; g++) {
+            int groupsRemaining = nbActiveGroups - g;
+            int playersInGroup = (int) Math.ceil((double) playersRemaining / groupsRemaining);
+            groupSizes[g] = Math.min(playersInGroup, console.getJoueursParPartie());
+            playersRemaining -= groupSizes[g];
+        }
+        return groupSizes;
+    }
 
-                    groups.add(group);
-                    playersRemaining -= playersInGroup;
+    /**
+     * Helper: Orders the players of a console session group by group. Each
+     * group starts with a random player, then takes the player with the
+     * fewest encounters with its current members (ties broken at random).
+     * The encounters of the built groups are added to the matrix.
+     */
+    private List<Integer> orderByFewestEncounters(List<Integer> players, int[] groupSizes,
+            EncounterMatrix encounters) {
+        List<Integer> remaining = new ArrayList<>(players);
+        List<Integer> ordered = new ArrayList<>(players.size());
+
+        for (int size : groupSizes) {
+            List<Integer> group = new ArrayList<>(size);
+            while (group.size() < size && !remaining.isEmpty()) {
+                int best = -1;
+                int bestEncounters = Integer.MAX_VALUE;
+                int nbTies = 0;
+                for (int i = 0; i < remaining.size(); i++) {
+                    int nbEncounters = 0;
+                    for (int member : group) {
+                        nbEncounters += encounters.get(remaining.get(i), member);
+                    }
+                    if (nbEncounters < bestEncounters) {
+                        nbTies = 0;
+                        bestEncounters = nbEncounters;
+                    }
+                    if (nbEncounters == bestEncounters && random.nextInt(++nbTies) == 0) {
+                        best = i;
+                    }
                 }
 
-                // Fill empty groups
-                while (groups.size() < console.getNbGroupes()) {
-                    groups.add(new ArrayList<>());
+                int player = remaining.remove(best);
+                for (int member : group) {
+                    encounters.increment(player, member);
                 }
-
-                consoleSessions.put(session, groups);
+                group.add(player);
             }
-
-            planning.getStructure().put(console.getNom(), consoleSessions);
+            ordered.addAll(group);
         }
 
-        return planning;
+        // Players left without a seat (not enough room): the planning will be invalid
+        ordered.addAll(remaining);
+        return ordered;
     }
 
     // ══════════════════════════════════════════════════════════════════════
@@ -105,43 +193,35 @@ public class TournamentPlanningService {
     /**
      * Validates that a planning respects all constraints.
      */
-    public boolean validatePlanning(Planning planning) {
-        int nbSessions = config.getNbSessions();
+    public boolean validatePlanning(CompactPlanning planning) {
+        int nbJoueurs = config.getNbJoueurs();
+        int nbSessions = layout.getNbSessions();
+        int[] consoleCounts = new int[layout.getNbConsoles() * (nbJoueurs + 1)];
 
-        // Check: each session must have all players exactly once
+        // Check: each session has every player at most once (byes when
+        // there are more sessions than consoles)
         for (int session = 0; session < nbSessions; session++) {
-            Set<Integer> playersInSession = new HashSet<>();
-
-            for (Console console : config.getConsoles()) {
-                List<List<Integer>> groups = planning.getSessionGroupes(console.getNom(), session);
-                for (List<Integer> group : groups) {
-                    for (Integer player : group) {
-                        if (playersInSession.contains(player)) {
-                            return false; // Player plays twice in same session
+            boolean[] playersInSession = new boolean[nbJoueurs + 1];
+
+            for (int c = 0; c < layout.getNbConsoles(); c++) {
+                for (int g = 0; g < layout.getMaxGroupes(); g++) {
+                    int size = planning.getGroupSize(c, session, g);
+                    for (int seat = 0; seat < size; seat++) {
+                        int player = planning.getPlayer(c, session, g, seat);
+                        if (player < 1 || player > nbJoueurs || playersInSession[player]) {
+                            return false; // Unknown player or player plays twice in same session
                         }
-                        playersInSession.add(player);
+                        playersInSession[player] = true;
+                        consoleCounts[c * (nbJoueurs + 1) + player]++;
                     }
                 }
             }
-
-            if (playersInSession.size() != config.getNbJoueurs()) {
-                return false; // Not all players in session
-            }
         }
 
         // Check: each player plays exactly once on each console
-        for (int player = 1; player <= config.getNbJoueurs(); player++) {
-            for (Console console : config.getConsoles()) {
-                int count = 0;
-                for (int session = 0; session < nbSessions; session++) {
-                    List<List<Integer>> groups = planning.getSessionGroupes(console.getNom(), session);
-                    for (List<Integer> group : groups) {
-                        if (group.contains(player)) {
-                            count++;
-                        }
-                    }
-                }
-                if (count != 1) {
+        for (int c = 0; c < layout.getNbConsoles(); c++) {
+            for (int player = 1; player <= nbJoueurs; player++) {
+                if (consoleCounts[c * (nbJoueurs + 1) + player] != 1) {
                     return false; // Player doesn't play exactly once on this console
                 }
             }
@@ -157,24 +237,17 @@ public class TournamentPlanningService {
     /**
      * Counts encounters between all player pairs.
      */
-    public Map<String, Integer> calculateEncounters(Planning planning) {
-        Map<String, Integer> encounters = new HashMap<>();
-
-        for (Console console : config.getConsoles()) {
-            for (int session = 0; session < config.getNbSessions(); session++) {
-                List<List<Integer>> groups = planning.getSessionGroupes(console.getNom(), session);
-
-                for (List<Integer> group : groups) {
-                    // Count all pairs in this group
-                    for (int i = 0; i < group.size(); i++) {
-                        for (int j = i + 1; j < group.size(); j++) {
-                            int p1 = Math.min(group.get(i), group.get(j));
-                            int p2 = Math.max(group.get(i), group.get(j));
-                            String key = p1 + "-" + p2;
-
-                            encounters.put(key, encounters.getOrDefault(key, 0) + 1);
-                        }
-                    }
+    public EncounterMatrix calculateEncounters(CompactPlanning planning) {
+        EncounterMatrix encounters = new EncounterMatrix(config.getNbJoueurs());
+
+        for (int group = 0; group < layout.getNbGroupesTotal(); group++) {
+            int size = planning.groupSizeAt(group);
+
+            // Count all pairs in this group
+            for (int i = 0; i < size; i++) {
+                int p1 = planning.playerAt(layout.slotIndex(group, i));
+                for (int j = i + 1; j < size; j++) {
+                    encounters.increment(p1, planning.playerAt(layout.slotIndex(group, j)));
                 }
             }
         }
@@ -184,58 +257,89 @@ public class TournamentPlanningService {
 
     /**
      * Calculates the score of a planning based on encounter distribution.
+     * Cubic penalty for repeated encounters: Σ count³ × 100 over all pairs.
      */
-    public ScoreResult calculateScore(Map<String, Integer> encounters) {
-        double score = 0;
-        Map<Integer, Integer> distribution = new HashMap<>();
-        int collisions = 0;
-        int maxEncounters = 0;
+    public ScoreResult calculateScore(EncounterMatrix encounters) {
+        return encounters.toScoreResult();
+    }
 
-        // Check all possible pairs
-        for (int i = 1; i <= config.getNbJoueurs(); i++) {
-            for (int j = i + 1; j <= config.getNbJoueurs(); j++) {
-                String key = i + "-" + j;
-                int count = encounters.getOrDefault(key, 0);
+    /**
+     * Whether a search can stop: the maximum number of encounters is within
+     * earlyStoppingThreshold, or the score reached its lower bound (no
+     * planning with these group sizes can do better).
+     */
+    public boolean isStopReached(EncounterMatrix encounters) {
+        return encounters.getMaxRencontres() <= config.getEarlyStoppingThreshold()
+                || encounters.getScore() <= encounters.getLowerBound();
+    }
 
-                distribution.put(count, distribution.getOrDefault(count, 0) + 1);
+    /**
+     * String-keyed adapter: scores encounters keyed "p1-p2".
+     */
+    public ScoreResult calculateScore(Map<String, Integer> encounters) {
+        return calculateScore(EncounterMatrix.fromMap(config.getNbJoueurs(), encounters));
+    }
 
-                if (count > 1) {
-                    collisions += (count - 1);
-                }
+    // ══════════════════════════════════════════════════════════════════════
+    // OPTIMIZATION - SWAP ALGORITHMS
+    // ══════════════════════════════════════════════════════════════════════
 
-                if (count > maxEncounters) {
-                    maxEncounters = count;
-                }
+    /**
+     * Swap1: Exchange players between groups in the same session.
+     */
+    public CompactPlanning swap1IntraSession(CompactPlanning planning) {
+        CompactPlanning nouveau = planning.copy();
+        SwapMove move = new SwapMove();
 
-                // Cubic penalty for repeated encounters
-                score += Math.pow(count, 3) * 100;
-            }
+        if (proposeSwap1(nouveau, move)) {
+            nouveau.swapSlots(move.getSlotA(0), move.getSlotB(0));
         }
 
-        return new ScoreResult(score, distribution, collisions, maxEncounters);
+        return nouveau;
     }
 
-    // ══════════════════════════════════════════════════════════════════════
-    // OPTIMIZATION - SWAP ALGORITHMS
-    // ══════════════════════════════════════════════════════════════════════
+    /**
+     * Draws a swap1 or swap2 move (1 in 2), swap2 targeting a colliding pair
+     * 70% of the time. With more sessions than consoles, a bye swap is drawn
+     * instead 1 time in 3.
+     *
+     * @return false if no move could be drawn (move left empty)
+     */
+    public boolean proposeRandomSwap(CompactPlanning planning, EncounterMatrix encounters, SwapMove move) {
+        if (layout.getNbSessions() > layout.getNbConsoles() && random.nextInt(3) == 0) {
+            return proposeByeSwap(planning, move);
+        }
+        return random.nextBoolean()
+                ? proposeSwap1(planning, move)
+                : proposeSwap2(planning, encounters, random.nextInt(100) < TARGETED_SWAP2_PERCENT, move);
+    }
 
     /**
-     * Swap1: Exchange players between groups in the same session.
+     * Swap1 without copying: fills {@code move} with a random exchange between
+     * two groups of the same console and session. Both players keep their
+     * console and session, so a valid planning stays valid.
+     *
+     * @return false if no exchange could be drawn (move left empty)
      */
-    public Planning swap1IntraSession(Planning planning) {
-        Planning nouveau = planning.copy();
+    public boolean proposeSwap1(CompactPlanning planning, SwapMove move) {
+        move.clear();
 
         // Filter consoles with multiple groups
-        List<Console> validConsoles = config.getConsoles().stream()
-                .filter(c -> c.getNbGroupes() > 1)
-                .toList();
+        int nbValidConsoles = 0;
+        for (int c = 0; c < layout.getNbConsoles(); c++) {
+            if (layout.getConsole(c).getNbGroupes() > 1) {
+                nbValidConsoles++;
+            }
+        }
 
-        if (validConsoles.isEmpty()) {
-            return nouveau;
+        int nbFreeSessions = layout.getNbSessions() - nbFrozenSessions;
+        if (nbValidConsoles == 0 || nbFreeSessions == 0) {
+            return false;
         }
 
-        Console console = validConsoles.get(random.nextInt(validConsoles.size()));
-        int session = random.nextInt(config.getNbSessions());
+        int c = nthConsoleWithGroups(random.nextInt(nbValidConsoles));
+        Console console = layout.getConsole(c);
+        int session = nbFrozenSessions + random.nextInt(nbFreeSessions);
 
         int g1 = random.nextInt(console.getNbGroupes());
         int g2 = random.nextInt(console.getNbGroupes());
@@ -248,178 +352,435 @@ public class TournamentPlanningService {
         }
 
         if (g1 == g2) {
-            return nouveau;
+            return false;
         }
 
-        List<Integer> group1 = nouveau.getGroupe(console.getNom(), session, g1);
-        List<Integer> group2 = nouveau.getGroupe(console.getNom(), session, g2);
+        int group1 = layout.groupIndex(c, session, g1);
+        int group2 = layout.groupIndex(c, session, g2);
 
-        if (!group1.isEmpty() && !group2.isEmpty()) {
-            int idx1 = random.nextInt(group1.size());
-            int idx2 = random.nextInt(group2.size());
+        if (planning.groupSizeAt(group1) == 0 || planning.groupSizeAt(group2) == 0) {
+            return false;
+        }
 
-            // Swap players
-            int temp = group1.get(idx1);
-            group1.set(idx1, group2.get(idx2));
-            group2.set(idx2, temp);
+        int idx1 = random.nextInt(planning.groupSizeAt(group1));
+        int idx2 = random.nextInt(planning.groupSizeAt(group2));
+        move.addExchange(layout.slotIndex(group1, idx1), layout.slotIndex(group2, idx2));
+        return true;
+    }
+
+    /**
+     * Bye swap, for events with more sessions than consoles: player A plays
+     * console x in s1 and sits s2 out, player B plays x in s2 and sits s1
+     * out. They trade seats, so both still play every console once and at
+     * most once per session.
+     *
+     * @return false if no exchange could be drawn (move left empty)
+     */
+    public boolean proposeByeSwap(CompactPlanning planning, SwapMove move) {
+        move.clear();
+
+        int nbFreeSessions = layout.getNbSessions() - nbFrozenSessions;
+        if (nbFreeSessions < 2) {
+            return false;
+        }
+        int s1 = nbFrozenSessions + random.nextInt(nbFreeSessions);
+        int s2 = nbFrozenSessions + random.nextInt(nbFreeSessions - 1);
+        if (s2 >= s1) {
+            s2++;
         }
+        int console = random.nextInt(layout.getNbConsoles());
 
-        return nouveau;
+        int slotA = pickByeSlot(planning, console, s1, s2);
+        int slotB = pickByeSlot(planning, console, s2, s1);
+        if (slotA < 0 || slotB < 0) {
+            return false;
+        }
+        move.addExchange(slotA, slotB);
+        return true;
+    }
+
+    /**
+     * Helper: Seat on a console in a session of a player who sits another
+     * session out, drawn uniformly (-1 if there is none).
+     */
+    private int pickByeSlot(CompactPlanning planning, int console, int session, int byeSession) {
+        int nbCandidates = 0;
+        int candidate = -1;
+
+        for (int g = 0; g < layout.getConsole(console).getNbGroupes(); g++) {
+            int group = layout.groupIndex(console, session, g);
+            for (int seat = 0; seat < planning.groupSizeAt(group); seat++) {
+                int slot = layout.slotIndex(group, seat);
+                if (planning.slotOf(planning.playerAt(slot), byeSession) < 0
+                        && random.nextInt(++nbCandidates) == 0) {
+                    candidate = slot;
+                }
+            }
+        }
+        return candidate;
+    }
+
+    private int nthConsoleWithGroups(int n) {
+        for (int c = 0; c < layout.getNbConsoles(); c++) {
+            if (layout.getConsole(c).getNbGroupes() > 1 && n-- == 0) {
+                return c;
+            }
+        }
+        throw new IllegalArgumentException("No console with multiple groups");
     }
 
     /**
      * Swap2: Exchange players between two different sessions.
      */
-    public Planning swap2InterSessions(Planning planning, Map<String, Integer> encounters, boolean targetCollisions) {
-        Planning nouveau = planning.copy();
+    public CompactPlanning swap2InterSessions(CompactPlanning planning, EncounterMatrix encounters,
+            boolean targetCollisions) {
+        CompactPlanning nouveau = planning.copy();
+        SwapMove move = new SwapMove();
+
+        if (proposeSwap2(nouveau, encounters, targetCollisions, move)) {
+            for (int e = 0; e < move.getNbExchanges(); e++) {
+                nouveau.swapSlots(move.getSlotA(e), move.getSlotB(e));
+            }
+        }
+
+        return nouveau;
+    }
+
+    /**
+     * Swap2 without copying: fills {@code move} with an exchange of consoles
+     * x and y between players, across sessions. Player A plays x in s1 and y
+     * in s2; in s2 A trades seats with a player B playing x there, so A now
+     * plays x in s2 and B plays y. B then does the same in the session where
+     * it played y, and so on until a player playing y in s1 trades seats with
+     * A in s1.
+     *
+     * A player B playing y in s1 closes the exchange right away (the
+     * four-slot swap of A and B across s1 and s2) and is always preferred;
+     * longer chains are needed when consoles rotate with the sessions (see
+     * generateInitialPlanning). Every player keeps one game per console and
+     * per session, so a valid planning stays valid. Chains never go through
+     * a frozen session.
+     *
+     * @return false if no exchange could be drawn (move left empty)
+     */
+    public boolean proposeSwap2(CompactPlanning planning, EncounterMatrix encounters, boolean targetCollisions,
+            SwapMove move) {
+        move.clear();
 
-        int s1 = random.nextInt(config.getNbSessions());
-        int s2 = random.nextInt(config.getNbSessions());
+        int nbFreeSessions = layout.getNbSessions() - nbFrozenSessions;
+        if (nbFreeSessions < 2) {
+            return false;
+        }
+        int s1 = nbFrozenSessions + random.nextInt(nbFreeSessions);
+        int s2 = nbFrozenSessions + random.nextInt(nbFreeSessions);
 
         // Try to get different sessions
         int attempts = 0;
         while (s1 == s2 && attempts < 10) {
-            s2 = random.nextInt(config.getNbSessions());
+            s2 = nbFrozenSessions + random.nextInt(nbFreeSessions);
             attempts++;
         }
 
         if (s1 == s2) {
-            return nouveau;
+            return false;
         }
 
         // Select player A
-        Integer playerA = null;
+        int playerA = 0;
 
         if (targetCollisions && encounters != null) {
             // Target pairs with most collisions
-            List<Map.Entry<String, Integer>> sortedPairs = encounters.entrySet().stream()
-                    .filter(e -> e.getValue() > 1)
-                    .sorted((a, b) -> Integer.compare(b.getValue(), a.getValue()))
-                    .limit(20)
-                    .toList();
-
-            if (!sortedPairs.isEmpty()) {
-                Map.Entry<String, Integer> pair = sortedPairs.get(random.nextInt(sortedPairs.size()));
-                String[] parts = pair.getKey().split("-");
-                List<Integer> players = List.of(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]));
-                playerA = players.get(random.nextInt(players.size()));
-            }
+            playerA = pickCollidingPlayer(encounters);
         }
 
-        if (playerA == null) {
+        if (playerA == 0) {
             playerA = random.nextInt(config.getNbJoueurs()) + 1;
         }
 
         // Find positions of playerA in both sessions
-        Position posA_s1 = findPlayerPosition(nouveau, playerA, s1);
-        Position posA_s2 = findPlayerPosition(nouveau, playerA, s2);
+        int posA_s1 = planning.slotOf(playerA, s1);
+        int posA_s2 = planning.slotOf(playerA, s2);
 
-        if (posA_s1 == null || posA_s2 == null) {
-            return nouveau;
+        if (posA_s1 < 0 || posA_s2 < 0) {
+            return false;
         }
 
-        // Find compatible player B
-        List<PlayerSwapCandidate> candidates = new ArrayList<>();
+        // Pick player B among the players of A's s1 console in s2
+        int posB = pickChainSlot(planning, consoleOfSlot(posA_s1), consoleOfSlot(posA_s2), s2, s1, move);
+        return buildSwap2(planning, posA_s1, posA_s2, posB, move);
+    }
 
-        for (int player = 1; player <= config.getNbJoueurs(); player++) {
-            if (player == playerA)
-                continue;
+    /**
+     * Fills {@code move} with the swap2 exchange (see proposeSwap2) where
+     * player A, seated on posA_s1 and posA_s2, trades seats with the player
+     * seated on posB in s2 (on A's s1 console). Later links of the chain, if
+     * any, are drawn at random.
+     *
+     * @return false if the chain cannot be closed (move left empty)
+     */
+    public boolean buildSwap2(CompactPlanning planning, int posA_s1, int posA_s2, int posB, SwapMove move) {
+        move.clear();
+
+        int s1 = sessionOfSlot(posA_s1);
+        int consoleX = consoleOfSlot(posA_s1);
+        int consoleY = consoleOfSlot(posA_s2);
+
+        // Walk the chain: the current player gives its y seat in this session
+        // to a player on x, who gives its own y seat in its next session
+        int posY = posA_s2;
+        int posX = posB;
+        while (posX >= 0 && move.getNbExchanges() < layout.getNbSessions()) {
+            move.addExchange(posY, posX);
+
+            int player = planning.playerAt(posX);
+            int session = sessionOnConsole(planning, player, consoleY);
+            if (session < nbFrozenSessions || (session != s1 && chainVisits(move, session))) {
+                break;
+            }
+            posY = planning.slotOf(player, session);
 
-            Position posB_s1 = findPlayerPosition(nouveau, player, s1);
-            Position posB_s2 = findPlayerPosition(nouveau, player, s2);
+            if (session == s1) {
+                move.addExchange(posY, posA_s1);
+                return true;
+            }
+            posX = pickChainSlot(planning, consoleX, consoleY, session, s1, move);
+        }
 
-            if (posB_s1 != null && posB_s2 != null &&
-                    posB_s1.consoleName.equals(posA_s2.consoleName) &&
-                    posB_s2.consoleName.equals(posA_s1.consoleName)) {
+        // The chain could not be closed
+        move.clear();
+        return false;
+    }
 
-                candidates.add(new PlayerSwapCandidate(player, posB_s1, posB_s2));
+    /**
+     * Helper: Seat of a player on console x in a session, whose y session can
+     * continue the chain: s1 if possible (closes it), otherwise a session
+     * the chain has not been through yet. Drawn uniformly by reservoir
+     * sampling, -1 if there is none.
+     */
+    private int pickChainSlot(CompactPlanning planning, int consoleX, int consoleY, int session, int s1,
+            SwapMove move) {
+        int nbClosing = 0;
+        int nbOpen = 0;
+        int closingSlot = -1;
+        int openSlot = -1;
+
+        for (int g = 0; g < layout.getConsole(consoleX).getNbGroupes(); g++) {
+            int group = layout.groupIndex(consoleX, session, g);
+            for (int seat = 0; seat < planning.groupSizeAt(group); seat++) {
+                int slot = layout.slotIndex(group, seat);
+                int next = sessionOnConsole(planning, planning.playerAt(slot), consoleY);
+
+                if (next == s1) {
+                    nbClosing++;
+                    if (random.nextInt(nbClosing) == 0) {
+                        closingSlot = slot;
+                    }
+                } else if (nbClosing == 0 && next >= nbFrozenSessions && !chainVisits(move, next)) {
+                    nbOpen++;
+                    if (random.nextInt(nbOpen) == 0) {
+                        openSlot = slot;
+                    }
+                }
             }
         }
 
-        if (candidates.isEmpty()) {
-            return nouveau;
-        }
+        return nbClosing > 0 ? closingSlot : openSlot;
+    }
 
-        PlayerSwapCandidate choiceB = candidates.get(random.nextInt(candidates.size()));
+    /**
+     * Helper: Whether the chain already exchanges seats in a session.
+     */
+    private boolean chainVisits(SwapMove move, int session) {
+        for (int e = 0; e < move.getNbExchanges(); e++) {
+            if (sessionOfSlot(move.getSlotA(e)) == session) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-        // Perform the swap
-        List<Integer> groupA_s1 = nouveau.getGroupe(posA_s1.consoleName, s1, posA_s1.groupIdx);
-        List<Integer> groupA_s2 = nouveau.getGroupe(posA_s2.consoleName, s2, posA_s2.groupIdx);
-        List<Integer> groupB_s1 = nouveau.getGroupe(choiceB.posS1.consoleName, s1, choiceB.posS1.groupIdx);
-        List<Integer> groupB_s2 = nouveau.getGroupe(choiceB.posS2.consoleName, s2, choiceB.posS2.groupIdx);
+    /**
+     * Helper: Session in which a player plays on a console, or -1.
+     */
+    private int sessionOnConsole(CompactPlanning planning, int player, int console) {
+        for (int s = 0; s < layout.getNbSessions(); s++) {
+            int slot = planning.slotOf(player, s);
+            if (slot >= 0 && consoleOfSlot(slot) == console) {
+                return s;
+            }
+        }
+        return -1;
+    }
 
-        groupA_s1.set(posA_s1.playerIdx, choiceB.player);
-        groupA_s2.set(posA_s2.playerIdx, choiceB.player);
-        groupB_s1.set(choiceB.posS1.playerIdx, playerA);
-        groupB_s2.set(choiceB.posS2.playerIdx, playerA);
+    private int consoleOfSlot(int slot) {
+        return layout.consoleOfGroup(layout.groupOfSlot(slot));
+    }
 
-        return nouveau;
+    private int sessionOfSlot(int slot) {
+        return layout.sessionOfGroup(layout.groupOfSlot(slot));
     }
 
     /**
-     * Helper: Find position of a player in a session.
+     * Helper: Picks one player of a random pair among the (at most)
+     * COLLISION_TARGETS pairs that met the most, or 0 when there is no
+     * collision.
      */
-    private Position findPlayerPosition(Planning planning, int player, int session) {
-        for (Console console : config.getConsoles()) {
-            List<List<Integer>> groups = planning.getSessionGroupes(console.getNom(), session);
-            for (int g = 0; g < groups.size(); g++) {
-                List<Integer> group = groups.get(g);
-                int idx = group.indexOf(player);
-                if (idx >= 0) {
-                    return new Position(console.getNom(), g, idx);
+    private int pickCollidingPlayer(EncounterMatrix encounters) {
+        // Lowest encounter count still inside the top COLLISION_TARGETS pairs
+        int threshold = encounters.getMaxRencontres();
+        int nbAbove = 0;
+        while (threshold > 1 && nbAbove + encounters.getNbPairs(threshold) < COLLISION_TARGETS) {
+            nbAbove += encounters.getNbPairs(threshold);
+            threshold--;
+        }
+
+        // Below 2 encounters there is nothing to target: keep only the pairs above
+        int nbAtThreshold = threshold > 1
+                ? Math.min(encounters.getNbPairs(threshold), COLLISION_TARGETS - nbAbove)
+                : 0;
+        int nbTargets = nbAbove + nbAtThreshold;
+        if (nbTargets == 0) {
+            return 0;
+        }
+
+        // Walk the pairs in order and stop at the randomly chosen target
+        int target = random.nextInt(nbTargets);
+        int seenAtThreshold = 0;
+        for (int i = 1; i <= config.getNbJoueurs(); i++) {
+            for (int j = i + 1; j <= config.getNbJoueurs(); j++) {
+                int count = encounters.get(i, j);
+                boolean selected = count > threshold
+                        || (count == threshold && seenAtThreshold++ < nbAtThreshold);
+                if (selected && target-- == 0) {
+                    return random.nextBoolean() ? i : j;
                 }
             }
         }
-        return null;
+        return 0;
     }
 
+    // ══════════════════════════════════════════════════════════════════════
+    // OPTIMIZATION - INCREMENTAL SCORING
+    // ══════════════════════════════════════════════════════════════════════
+
     /**
-     * Helper class for player position.
+     * Score change that {@code move} would produce, read from the current
+     * encounters without building a new planning.
+     *
+     * Exchanges of a multi-exchange move (swap2) may touch the same pairs, so
+     * each exchange is applied before scoring the next one and all are undone
+     * afterwards (an exchange is its own inverse). Planning and encounters are
+     * therefore left exactly as they were, and nothing is allocated.
      */
-    private static class Position {
-        String consoleName;
-        int groupIdx;
-        int playerIdx;
-
-        Position(String consoleName, int groupIdx, int playerIdx) {
-            this.consoleName = consoleName;
-            this.groupIdx = groupIdx;
-            this.playerIdx = playerIdx;
+    public double deltaScore(CompactPlanning planning, EncounterMatrix encounters, SwapMove move) {
+        int last = move.getNbExchanges() - 1;
+        long delta = 0;
+
+        for (int e = 0; e <= last; e++) {
+            delta += exchangeDelta(planning, encounters, move.getSlotA(e), move.getSlotB(e));
+            if (e < last) {
+                applyExchange(planning, encounters, move.getSlotA(e), move.getSlotB(e));
+            }
         }
+        for (int e = last - 1; e >= 0; e--) {
+            applyExchange(planning, encounters, move.getSlotA(e), move.getSlotB(e));
+        }
+
+        return delta * EncounterMatrix.PENALTY_FACTOR;
     }
 
     /**
-     * Helper class for swap candidates.
+     * Applies an accepted move to the planning and its encounters.
      */
-    private static class PlayerSwapCandidate {
-        int player;
-        Position posS1;
-        Position posS2;
+    public void applyMove(CompactPlanning planning, EncounterMatrix encounters, SwapMove move) {
+        for (int e = 0; e < move.getNbExchanges(); e++) {
+            applyExchange(planning, encounters, move.getSlotA(e), move.getSlotB(e));
+        }
+    }
 
-        PlayerSwapCandidate(int player, Position posS1, Position posS2) {
-            this.player = player;
-            this.posS1 = posS1;
-            this.posS2 = posS2;
+    /**
+     * Reverts a move previously applied with applyMove.
+     */
+    public void undoMove(CompactPlanning planning, EncounterMatrix encounters, SwapMove move) {
+        for (int e = move.getNbExchanges() - 1; e >= 0; e--) {
+            applyExchange(planning, encounters, move.getSlotA(e), move.getSlotB(e));
         }
     }
 
     /**
-     * Generates a hash for the planning to detect duplicates.
+     * Change of Σ count³ when the players on slotA and slotB trade places:
+     * A leaves its group for B's group and vice versa, so only the pairs
+     * between A/B and the other members of both groups change.
      */
-    public String getPlanningHash(Planning planning) {
-        StringBuilder sb = new StringBuilder();
-
-        for (Console console : config.getConsoles()) {
-            for (int s = 0; s < config.getNbSessions(); s++) {
-                for (int g = 0; g < console.getNbGroupes(); g++) {
-                    List<Integer> players = planning.getGroupe(console.getNom(), s, g);
-                    sb.append(console.getNom()).append("|").append(s).append("|").append(g).append(":");
-                    sb.append(String.join(",", players.stream().map(String::valueOf).toList()));
-                    sb.append(";");
+    private long exchangeDelta(CompactPlanning planning, EncounterMatrix encounters, int slotA, int slotB) {
+        int groupA = layout.groupOfSlot(slotA);
+        int groupB = layout.groupOfSlot(slotB);
+        if (groupA == groupB) {
+            return 0;
+        }
+
+        int a = planning.playerAt(slotA);
+        int b = planning.playerAt(slotB);
+        long delta = 0;
+
+        for (int seat = 0; seat < planning.groupSizeAt(groupA); seat++) {
+            int slot = layout.slotIndex(groupA, seat);
+            if (slot != slotA) {
+                int other = planning.playerAt(slot);
+                delta += encounters.cubicDeltaDown(a, other) + encounters.cubicDeltaUp(b, other);
+            }
+        }
+        for (int seat = 0; seat < planning.groupSizeAt(groupB); seat++) {
+            int slot = layout.slotIndex(groupB, seat);
+            if (slot != slotB) {
+                int other = planning.playerAt(slot);
+                delta += encounters.cubicDeltaDown(b, other) + encounters.cubicDeltaUp(a, other);
+            }
+        }
+
+        return delta;
+    }
+
+    private void applyExchange(CompactPlanning planning, EncounterMatrix encounters, int slotA, int slotB) {
+        int groupA = layout.groupOfSlot(slotA);
+        int groupB = layout.groupOfSlot(slotB);
+        if (groupA != groupB) {
+            int a = planning.playerAt(slotA);
+            int b = planning.playerAt(slotB);
+
+            for (int seat = 0; seat < planning.groupSizeAt(groupA); seat++) {
+                int slot = layout.slotIndex(groupA, seat);
+                if (slot != slotA) {
+                    int other = planning.playerAt(slot);
+                    encounters.decrement(a, other);
+                    encounters.increment(b, other);
+                }
+            }
+            for (int seat = 0; seat < planning.groupSizeAt(groupB); seat++) {
+                int slot = layout.slotIndex(groupB, seat);
+                if (slot != slotB) {
+                    int other = planning.playerAt(slot);
+                    encounters.decrement(b, other);
+                    encounters.increment(a, other);
                 }
             }
         }
 
-        return String.valueOf(sb.toString().hashCode());
+        planning.swapSlots(slotA, slotB);
+    }
+
+    /**
+     * Generates a hash for the planning to detect duplicates (64-bit Zobrist
+     * hash, maintained incrementally by CompactPlanning).
+     */
+    public long getPlanningHash(CompactPlanning planning) {
+        return planning.getHash();
+    }
+
+    /**
+     * Hash of the planning that {@code move} would produce, in O(1).
+     */
+    public long getPlanningHash(CompactPlanning planning, SwapMove move) {
+        return planning.hashAfter(move);
     }
 }
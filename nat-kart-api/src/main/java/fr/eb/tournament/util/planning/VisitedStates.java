@@ -0,0 +1,47 @@
+package fr.eb.tournament.util.planning;
+
+/**
+ * Set of planning hashes already tested during a restart, with bounded
+ * memory. Forgetting a state only means it may be scored again; a false
+ * positive (Bloom) only means a new state is skipped.
+ */
+public interface VisitedStates {
+
+    /**
+     * Records a planning hash.
+     *
+     * @return true if the hash was not known yet
+     */
+    boolean add(long hash);
+
+    /**
+     * Number of hashes recorded since the last clear (for display).
+     */
+    int size();
+
+    void clear();
+
+    /**
+     * Creates the store selected in the configuration.
+     */
+    static VisitedStates create(TournamentConfig config) {
+        return switch (config.getVisitedStatesMode()) {
+            case HASH_SET -> new CappedLongHashSet(config.getVisitedStatesCapacity());
+            case LRU_RING -> new LruRingVisitedStates(config.getVisitedStatesCapacity());
+            case BLOOM -> new BloomVisitedStates(config.getVisitedStatesCapacity(),
+                    config.getVisitedStatesFalsePositiveRate());
+        };
+    }
+
+    /**
+     * Spreads a hash over the table bits (MurmurHash3 finalizer).
+     */
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,11 @@
+package fr.eb.tournament.util.planning;
+
+/**
+ * Memory strategy used to remember the plannings already tested during a
+ * restart (see VisitedStates).
+ */
+public enum VisitedStatesMode {
+    HASH_SET, // Exact set of hashes, cleared when the capacity is reached
+    LRU_RING, // Exact set of the N most recently seen hashes, least recently seen forgotten first
+    BLOOM // Probabilistic: fixed memory, configurable false-positive rate
+}
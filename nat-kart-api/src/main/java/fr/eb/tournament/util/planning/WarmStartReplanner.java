@@ -0,0 +1,299 @@
+package fr.eb.tournament.util.planning;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+
+/**
+ * Re-optimises a planning whose players change during the event.
+ *
+ * The first nbPlayedSessions sessions are frozen: their groups are kept as
+ * played and their encounters are the starting encounter counts. In the
+ * remaining sessions, withdrawn players leave their seats, new players are
+ * seated greedily (fewest encounters, on consoles they have not played yet)
+ * and a late-acceptance search starting from the current groups reshuffles
+ * those sessions only (see TournamentPlanningService#setNbFrozenSessions).
+ *
+ * Once new players are seated, the players of each unplayed console session
+ * are split again into as few balanced groups as an initial planning uses,
+ * so that withdrawals never leave a player alone in a group. The search
+ * keeps these group sizes: moves exchange players, they never empty a seat.
+ * With more
+ * sessions than consoles, new players play one game per console at most
+ * and sit the other sessions out (see SessionSizing).
+ */
+@Slf4j
+public class WarmStartReplanner {
+
+    private final TournamentConfig config;
+    private final TournamentPlanningService service;
+    private final PlanningLayout layout;
+
+    /**
+     * @param config Configuration covering every player of the event: the
+     *               current ones, the withdrawn ones and the new ones
+     */
+    public WarmStartReplanner(TournamentConfig config) {
+        this.config = config;
+        this.service = new TournamentPlanningService(config);
+        this.layout = service.getLayout();
+    }
+
+    /**
+     * Re-plans the sessions after nbPlayedSessions.
+     *
+     * @param current          Current planning (new players not seated anywhere)
+     * @param nbPlayedSessions Sessions already played, kept as they are
+     * @param withdrawn        Players leaving the event
+     * @param newPlayers       Players joining the event
+     * @param token            Cancellation of the search (and its time budget)
+     * @return the new planning, identical to the current one in the played sessions
+     * @throws IllegalArgumentException if the sessions cannot be re-planned
+     *                                  (nothing left to play, no room for the new players)
+     */
+    public CompactPlanning replan(CompactPlanning current, int nbPlayedSessions, Set<Integer> withdrawn,
+            List<Integer> newPlayers, CancellationToken token) {
+        if (nbPlayedSessions < 0 || nbPlayedSessions >= config.getNbSessions()) {
+            throw new IllegalArgumentException("Played sessions must be between 0 and " + (config.getNbSessions() - 1)
+                    + ": " + nbPlayedSessions);
+        }
+
+        // 1. Played sessions as they are, withdrawn players out of the others
+        CompactPlanning planning = new CompactPlanning(layout);
+        for (int group = 0; group < layout.getNbGroupesTotal(); group++) {
+            int console = layout.consoleOfGroup(group);
+            int session = layout.sessionOfGroup(group);
+            int groupe = layout.groupeOfGroup(group);
+            for (int seat = 0; seat < current.groupSizeAt(group); seat++) {
+                int player = current.playerAt(layout.slotIndex(group, seat));
+                if (session < nbPlayedSessions || !withdrawn.contains(player)) {
+                    planning.addPlayer(console, session, groupe, player);
+                }
+            }
+        }
+
+        // 2. New players where they meet the fewest players again
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        List<Integer> shuffled = new ArrayList<>(newPlayers);
+        Collections.shuffle(shuffled, service.getRandom());
+        for (int player : shuffled) {
+            seatNewPlayer(planning, encounters, player, nbPlayedSessions);
+        }
+        planning = rebalanceGroups(planning, nbPlayedSessions);
+        encounters = service.calculateEncounters(planning);
+        double initialScore = encounters.getScore();
+
+        // 3. Warm-start search on the unplayed sessions
+        service.setNbFrozenSessions(nbPlayedSessions);
+        new LateAcceptanceHillClimbing(config, service).optimize(planning, encounters, new SearchMonitor(token));
+
+        if (!isValid(planning, current, nbPlayedSessions, withdrawn)) {
+            throw new IllegalStateException("Re-planned sessions do not respect the tournament constraints");
+        }
+        log.info("Re-planned sessions {} to {}: score {} -> {}", nbPlayedSessions + 1, config.getNbSessions(),
+                initialScore, encounters.getScore());
+        return planning;
+    }
+
+    /**
+     * Helper: Seats a new player in the unplayed sessions until it has played
+     * every console (or every session), each time in the least filled group
+     * (then the one it has met least) of a console it has not played yet.
+     */
+    private void seatNewPlayer(CompactPlanning planning, EncounterMatrix encounters, int player,
+            int nbPlayedSessions) {
+        boolean[] consolesPlayed = new boolean[layout.getNbConsoles()];
+        int nbGames = 0;
+        int nbGamesNeeded = nbGamesAfter(nbPlayedSessions);
+
+        for (int session = nbPlayedSessions; session < config.getNbSessions() && nbGames < nbGamesNeeded; session++) {
+            int bestGroup = -1;
+            int bestSize = Integer.MAX_VALUE;
+            int bestEncounters = Integer.MAX_VALUE;
+
+            for (int c = 0; c < layout.getNbConsoles(); c++) {
+                Console console = layout.getConsole(c);
+                if (consolesPlayed[c]) {
+                    continue;
+                }
+                for (int g = 0; g < console.getNbGroupes(); g++) {
+                    int group = layout.groupIndex(c, session, g);
+                    int size = planning.groupSizeAt(group);
+                    if (size >= console.getJoueursParPartie()) {
+                        continue;
+                    }
+                    int nbEncounters = 0;
+                    for (int seat = 0; seat < size; seat++) {
+                        nbEncounters += encounters.get(player, planning.playerAt(layout.slotIndex(group, seat)));
+                    }
+                    // An empty group would leave the player alone: only as a last resort
+                    int fill = size == 0 ? Integer.MAX_VALUE - 1 : size;
+                    if (fill < bestSize || (fill == bestSize && nbEncounters < bestEncounters)) {
+                        bestGroup = group;
+                        bestSize = fill;
+                        bestEncounters = nbEncounters;
+                    }
+                }
+            }
+
+            if (bestGroup < 0) {
+                if (config.getNbSessions() - session > nbGamesNeeded - nbGames) {
+                    continue; // Sits this session out, later sessions have room enough
+                }
+                throw new IllegalArgumentException("Consoles cannot seat player " + player + " in session "
+                        + (session + 1));
+            }
+            int size = planning.groupSizeAt(bestGroup);
+            for (int seat = 0; seat < size; seat++) {
+                encounters.increment(player, planning.playerAt(layout.slotIndex(bestGroup, seat)));
+            }
+            int console = layout.consoleOfGroup(bestGroup);
+            planning.addPlayer(console, session, layout.groupeOfGroup(bestGroup), player);
+            consolesPlayed[console] = true;
+            nbGames++;
+        }
+    }
+
+    /**
+     * Helper: Splits the players of every unplayed console session into as
+     * few balanced groups as an initial planning would (see
+     * TournamentPlanningService#splitIntoGroups). Players move from the
+     * largest groups to the smallest ones, the others keep their group.
+     */
+    private CompactPlanning rebalanceGroups(CompactPlanning planning, int nbPlayedSessions) {
+        CompactPlanning balanced = new CompactPlanning(layout);
+        for (int c = 0; c < layout.getNbConsoles(); c++) {
+            Console console = layout.getConsole(c);
+            for (int session = 0; session < config.getNbSessions(); session++) {
+                List<List<Integer>> groupes = new ArrayList<>();
+                int nbPlayers = 0;
+                for (int g = 0; g < console.getNbGroupes(); g++) {
+                    List<Integer> players = new ArrayList<>();
+                    for (int seat = 0; seat < planning.getGroupSize(c, session, g); seat++) {
+                        players.add(planning.getPlayer(c, session, g, seat));
+                    }
+                    groupes.add(players);
+                    nbPlayers += players.size();
+                }
+
+                if (session >= nbPlayedSessions) {
+                    groupes.sort(Comparator.comparingInt(List<Integer>::size).reversed()); // Largest first
+                    int[] groupSizes = TournamentPlanningService.splitIntoGroups(nbPlayers, console);
+                    Deque<Integer> moving = new ArrayDeque<>();
+                    for (int g = 0; g < groupes.size(); g++) {
+                        int target = g < groupSizes.length ? groupSizes[g] : 0;
+                        while (groupes.get(g).size() > target) {
+                            moving.push(groupes.get(g).removeLast());
+                        }
+                    }
+                    for (int g = 0; g < groupSizes.length; g++) {
+                        while (groupes.get(g).size() < groupSizes[g]) {
+                            groupes.get(g).add(moving.pop());
+                        }
+                    }
+                }
+
+                for (int g = 0; g < groupes.size(); g++) {
+                    for (int player : groupes.get(g)) {
+                        balanced.addPlayer(c, session, g, player);
+                    }
+                }
+            }
+        }
+        return balanced;
+    }
+
+    /**
+     * Helper: Games of a player joining after nbPlayedSessions, one per
+     * console at most.
+     */
+    private int nbGamesAfter(int nbPlayedSessions) {
+        return Math.min(layout.getNbConsoles(), config.getNbSessions() - nbPlayedSessions);
+    }
+
+    /**
+     * Checks a re-planned planning: played sessions unchanged, groups within
+     * their console capacity, unplayed console sessions in as few balanced
+     * groups as possible, nobody playing a session or a console twice,
+     * and in the unplayed sessions as many games as before for current
+     * players, none for withdrawn ones and one per console (or session) for
+     * new ones.
+     */
+    boolean isValid(CompactPlanning planning, CompactPlanning current, int nbPlayedSessions, Set<Integer> withdrawn) {
+        int nbJoueurs = config.getNbJoueurs();
+        int[] consoleCounts = new int[layout.getNbConsoles() * (nbJoueurs + 1)];
+        int[] nbGames = new int[nbJoueurs + 1];
+        int[] nbGamesBefore = new int[nbJoueurs + 1];
+        boolean[] known = new boolean[nbJoueurs + 1];
+
+        for (int session = 0; session < config.getNbSessions(); session++) {
+            boolean[] playersInSession = new boolean[nbJoueurs + 1];
+
+            for (int c = 0; c < layout.getNbConsoles(); c++) {
+                Console console = layout.getConsole(c);
+                int nbPlayers = 0;
+                int nbGroupes = 0;
+                int minSize = Integer.MAX_VALUE;
+                int maxSize = 0;
+                for (int g = 0; g < console.getNbGroupes(); g++) {
+                    int group = layout.groupIndex(c, session, g);
+                    int size = planning.groupSizeAt(group);
+                    if (size > console.getJoueursParPartie()) {
+                        return false;
+                    }
+                    if (size > 0) {
+                        nbPlayers += size;
+                        nbGroupes++;
+                        minSize = Math.min(minSize, size);
+                        maxSize = Math.max(maxSize, size);
+                    }
+                    if (session < nbPlayedSessions && size != current.groupSizeAt(group)) {
+                        return false; // Played group changed
+                    }
+                    for (int seat = 0; seat < size; seat++) {
+                        int slot = layout.slotIndex(group, seat);
+                        int player = planning.playerAt(slot);
+                        if (player < 1 || player > nbJoueurs || playersInSession[player]) {
+                            return false;
+                        }
+                        if (session < nbPlayedSessions && player != current.playerAt(slot)) {
+                            return false; // Played group changed
+                        }
+                        playersInSession[player] = true;
+                        if (session >= nbPlayedSessions) {
+                            nbGames[player]++;
+                        }
+                        if (++consoleCounts[c * (nbJoueurs + 1) + player] > 1) {
+                            return false; // Console played twice
+                        }
+                    }
+                }
+                int nbGroupesNeeded = (nbPlayers + console.getJoueursParPartie() - 1) / console.getJoueursParPartie();
+                if (session >= nbPlayedSessions && (nbGroupes != nbGroupesNeeded || maxSize - minSize > 1)) {
+                    return false; // Uneven groups, e.g. a player left alone
+                }
+            }
+
+        }
+
+        // Games of the current planning in the unplayed sessions
+        for (int group = 0; group < layout.getNbGroupesTotal(); group++) {
+            for (int seat = 0; seat < current.groupSizeAt(group); seat++) {
+                int player = current.playerAt(layout.slotIndex(group, seat));
+                known[player] = true;
+                if (layout.sessionOfGroup(group) >= nbPlayedSessions) {
+                    nbGamesBefore[player]++;
+                }
+            }
+        }
+        for (int player = 1; player <= nbJoueurs; player++) {
+            int expected = withdrawn.contains(player) ? 0
+                    : known[player] ? nbGamesBefore[player]
+                    : nbGamesAfter(nbPlayedSessions);
+            if (nbGames[player] != expected) {
+                return false; // Games added or lost in the remaining sessions
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,99 @@
+package fr.eb.tournament.mapper;
+
+import fr.eb.tournament.config.PlanningLimitsProperties;
+import fr.eb.tournament.dto.ConsoleConfigDTO;
+import fr.eb.tournament.dto.TournamentPlanningDTO;
+import fr.eb.tournament.dto.TournamentRequest;
+import fr.eb.tournament.entity.PlanningEntity;
+import fr.eb.tournament.entity.PlanningSeatEntity;
+import fr.eb.tournament.service.TournamentService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for PlanningMapper.
+ */
+class PlanningMapperTest {
+
+    private final PlanningMapper planningMapper = new PlanningMapper();
+
+    private TournamentRequest request;
+
+    private TournamentPlanningDTO planning;
+
+    @BeforeEach
+    void setUp() {
+        // 24 players with large IDs on 3 consoles
+        request = new TournamentRequest();
+        request.setPlayerIds(LongStream.range(0, 24).map(i -> 1_000_000_000_000L + i * 37).boxed().toList());
+        request.setConsoles(List.of(new ConsoleConfigDTO(3L, 4), new ConsoleConfigDTO(900L, 4),
+                new ConsoleConfigDTO(70_000L, 4)));
+        request.setNbRelances(1);
+        request.setNbIterationsParRelance(1000);
+        planning = new TournamentService(new PlanningLimitsProperties()).generatePlanning(request);
+    }
+
+    @Test
+    void toDTO_shouldDecodeEncodedPlanning() {
+        // Given
+        PlanningEntity entity = planningMapper.toEntity(request.getPlayerIds(), planning, "parameters");
+
+        // When
+        TournamentPlanningDTO decoded = planningMapper.toDTO(entity);
+
+        // Then
+        assertEquals(planning, decoded);
+        assertEquals(24, entity.getNbJoueurs());
+        assertEquals(3, entity.getNbConsoles());
+        assertEquals(3, entity.getNbSessions());
+        assertEquals(planning.getScoreInfo().getMaxRencontres(), entity.getMaxRencontres());
+    }
+
+    @Test
+    void encode_shouldUseOneBytePerSeat() {
+        // Given: 24 players × 3 sessions, each seat is a 1-byte index
+        int nbSeats = 24 * 3;
+
+        // When
+        byte[] data = planningMapper.encode(request.getPlayerIds(), planning);
+
+        // Then: seats + group headers + player/console IDs (at most 6 bytes each) + distribution
+        int nbGroupes = 3 * 3 * 3;
+        assertTrue(data.length < nbSeats + 3 * nbGroupes + 6 * 27 + 20, "Encoded size: " + data.length);
+    }
+
+    @Test
+    void toSeats_shouldIndexEveryPlayerOncePerSession() {
+        // Given
+        PlanningEntity entity = planningMapper.toEntity(request.getPlayerIds(), planning, "parameters");
+
+        // When
+        List<PlanningSeatEntity> seats = planningMapper.toSeats(entity, planning);
+
+        // Then
+        assertEquals(24 * 3, seats.size());
+        for (int session = 1; session <= 3; session++) {
+            int sessionNumber = session;
+            assertEquals(24, seats.stream()
+                    .filter(seat -> seat.getSessionNumber() == sessionNumber)
+                    .map(PlanningSeatEntity::getPlayerId)
+                    .distinct()
+                    .count());
+        }
+    }
+
+    @Test
+    void toDTO_shouldRejectUnknownFormatVersion() {
+        // Given
+        PlanningEntity entity = planningMapper.toEntity(request.getPlayerIds(), planning, "parameters");
+        entity.getData()[0] = 2;
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> planningMapper.toDTO(entity));
+    }
+}
@@ -0,0 +1,160 @@
+package fr.eb.tournament.service;
+
+import fr.eb.tournament.config.PlanningCacheProperties;
+import fr.eb.tournament.config.PlanningLimitsProperties;
+import fr.eb.tournament.dto.*;
+import fr.eb.tournament.entity.PlanningCacheEntity;
+import fr.eb.tournament.repository.PlanningCacheRepository;
+import fr.eb.tournament.util.planning.OptimizationStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.*;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PlanningCacheService.
+ */
+@ExtendWith(MockitoExtension.class)
+class PlanningCacheServiceTest {
+
+    @Mock
+    private PlanningCacheRepository planningCacheRepository;
+
+    private final TournamentService tournamentService = new TournamentService(new PlanningLimitsProperties());
+
+    private PlanningCacheProperties properties;
+
+    private PlanningCacheService planningCacheService;
+
+    private final Map<String, PlanningCacheEntity> store = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        properties = new PlanningCacheProperties();
+        planningCacheService = new PlanningCacheService(planningCacheRepository, tournamentService, properties);
+
+        // In-memory repository
+        lenient().when(planningCacheRepository.findByCacheKey(anyString()))
+                .thenAnswer(invocation -> Optional.ofNullable(store.get(invocation.<String>getArgument(0))));
+        lenient().when(planningCacheRepository.save(any())).thenAnswer(invocation -> {
+            PlanningCacheEntity entry = invocation.getArgument(0);
+            if (entry.getId() == null) {
+                entry.setId((long) store.size() + 1);
+            }
+            store.put(entry.getCacheKey(), entry);
+            return entry;
+        });
+        lenient().when(planningCacheRepository.count()).thenAnswer(invocation -> (long) store.size());
+        lenient().when(planningCacheRepository.findFirstByOrderByLastUsedAtAsc()).thenAnswer(invocation -> store
+                .values().stream().min(Comparator.comparing(PlanningCacheEntity::getLastUsedAt)));
+        lenient().doAnswer(invocation -> store.remove(invocation.<PlanningCacheEntity>getArgument(0).getCacheKey()))
+                .when(planningCacheRepository).delete(any());
+    }
+
+    private static TournamentRequest request(long firstPlayerId, ConsoleConfigDTO... consoles) {
+        TournamentRequest request = new TournamentRequest();
+        request.setPlayerIds(LongStream.range(firstPlayerId, firstPlayerId + 8).boxed().toList());
+        request.setConsoles(List.of(consoles));
+        request.setNbRelances(1);
+        request.setNbIterationsParRelance(500);
+        return request;
+    }
+
+    @Test
+    void find_shouldRemapCachedPlanningOntoRequestIds() {
+        // Given: a planning stored for players 1..8 on consoles 10 (4 per game) and 20 (3 per game)
+        TournamentRequest original = request(1, new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 3));
+        TournamentPlanningDTO planning = tournamentService.generatePlanning(original);
+        planningCacheService.put(original, planning);
+
+        // Same configuration, other IDs and console order
+        TournamentRequest repeat = request(101, new ConsoleConfigDTO(30L, 3), new ConsoleConfigDTO(40L, 4));
+
+        // When
+        Optional<TournamentPlanningDTO> cached = planningCacheService.find(repeat);
+
+        // Then: player i → player 100 + i, console 10 → 40, console 20 → 30
+        assertTrue(cached.isPresent());
+        Map<Long, Long> consoleIds = Map.of(30L, 20L, 40L, 10L);
+        for (int s = 0; s < planning.getSessions().size(); s++) {
+            List<TournamentPlanningDTO.ConsoleSessionDTO> consoles = cached.get().getSessions().get(s).getConsoles();
+            assertEquals(List.of(30L, 40L), consoles.stream()
+                    .map(TournamentPlanningDTO.ConsoleSessionDTO::getConsoleId)
+                    .toList());
+
+            for (TournamentPlanningDTO.ConsoleSessionDTO console : consoles) {
+                TournamentPlanningDTO.ConsoleSessionDTO expected = planning.getSessions().get(s).getConsoles().stream()
+                        .filter(c -> c.getConsoleId().equals(consoleIds.get(console.getConsoleId())))
+                        .findFirst().orElseThrow();
+                assertEquals(expected.getGroupes().size(), console.getGroupes().size());
+                for (int g = 0; g < console.getGroupes().size(); g++) {
+                    assertEquals(expected.getGroupes().get(g).getPlayerIds().stream().map(id -> id + 100).toList(),
+                            console.getGroupes().get(g).getPlayerIds());
+                }
+            }
+        }
+        assertEquals(planning.getScoreInfo(), cached.get().getScoreInfo());
+        assertEquals(1, store.values().iterator().next().getHitCount());
+    }
+
+    @Test
+    void canonicalKey_shouldIgnoreIdsAndConsoleOrderButNotParameters() {
+        // Given
+        TournamentRequest request = request(1, new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 3));
+        TournamentRequest reordered = request(50, new ConsoleConfigDTO(7L, 3), new ConsoleConfigDTO(8L, 4));
+        reordered.setDisplayInterval(42);
+        TournamentRequest otherStrategy = request(1, new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 3));
+        otherStrategy.setStrategy(OptimizationStrategy.TABU);
+        TournamentRequest seeded = request(1, new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 3));
+        seeded.setSeed(42L);
+
+        // When
+        String key = PlanningCacheService.canonicalKey(tournamentService.toTournamentConfig(request));
+
+        // Then
+        assertEquals(key, PlanningCacheService.canonicalKey(tournamentService.toTournamentConfig(reordered)));
+        assertNotEquals(key, PlanningCacheService.canonicalKey(tournamentService.toTournamentConfig(otherStrategy)));
+        assertNotEquals(key, PlanningCacheService.canonicalKey(tournamentService.toTournamentConfig(seeded)));
+    }
+
+    @Test
+    void put_shouldEvictLeastRecentlyUsedBeyondMaxEntries() {
+        // Given
+        properties.setMaxEntries(1);
+        TournamentRequest first = request(1, new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 3));
+        TournamentRequest second = request(1, new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 4));
+        planningCacheService.put(first, tournamentService.generatePlanning(first));
+        store.values().forEach(entry -> entry.setLastUsedAt(entry.getLastUsedAt().minusMinutes(1)));
+
+        // When
+        planningCacheService.put(second, tournamentService.generatePlanning(second));
+
+        // Then
+        assertEquals(1, store.size());
+        assertTrue(planningCacheService.find(first).isEmpty());
+        assertTrue(planningCacheService.find(second).isPresent());
+    }
+
+    @Test
+    void find_shouldBypassCacheWhenDisabledForRequest() {
+        // Given
+        TournamentRequest request = request(1, new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 3));
+        request.setUseCache(false);
+
+        // When
+        Optional<TournamentPlanningDTO> cached = planningCacheService.find(request);
+
+        // Then
+        assertTrue(cached.isEmpty());
+        verifyNoInteractions(planningCacheRepository);
+    }
+}
@@ -0,0 +1,244 @@
+package fr.eb.tournament.service;
+
+import fr.eb.tournament.config.PlanningJobProperties;
+import fr.eb.tournament.dto.*;
+import fr.eb.tournament.exception.ResourceNotFoundException;
+import fr.eb.tournament.util.planning.CancellationToken;
+import fr.eb.tournament.util.planning.PlanningProgress;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for PlanningJobService.
+ */
+@ExtendWith(MockitoExtension.class)
+class PlanningJobServiceTest {
+
+    @Mock
+    private TournamentService tournamentService;
+
+    @Mock
+    private PlanningCacheService planningCacheService;
+
+    @Mock
+    private PlanningService planningService;
+
+    private PlanningJobService planningJobService;
+
+    private TournamentRequest request;
+
+    @BeforeEach
+    void setUp() {
+        PlanningJobProperties properties = new PlanningJobProperties();
+        properties.setMaxConcurrentJobs(1);
+        properties.setQueueCapacity(1);
+        planningJobService = new PlanningJobService(tournamentService, planningCacheService, planningService, properties);
+
+        request = new TournamentRequest();
+        request.setPlayerIds(List.of(1L, 2L, 3L, 4L));
+        request.setConsoles(List.of(new ConsoleConfigDTO(10L, 4)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        planningJobService.shutdown();
+    }
+
+    @Test
+    void createJob_shouldRunPlanningAndKeepLastProgress() throws InterruptedException {
+        // Given
+        TournamentPlanningDTO planning = new TournamentPlanningDTO(List.of(), null);
+        when(tournamentService.generatePlanning(any(), any(), any())).thenAnswer(invocation -> {
+            Consumer<PlanningProgress> listener = invocation.getArgument(2);
+            listener.accept(new PlanningProgress(500, 10, 50_000, 1200, 3, 2));
+            return planning;
+        });
+        when(planningService.savePlanning(request, planning)).thenReturn(7L);
+
+        // When
+        PlanningJobDTO created = planningJobService.createJob(request);
+        PlanningJobDTO finished = awaitFinished(created.getId());
+
+        // Then
+        assertNotNull(created.getId());
+        assertEquals(PlanningJobStatus.COMPLETED, finished.getStatus());
+        assertSame(planning, finished.getResult());
+        assertEquals(7L, finished.getPlanningId());
+        assertEquals(500, finished.getProgress().getIterations());
+        assertEquals(2, finished.getProgress().getMaxRencontres());
+        assertNotNull(finished.getFinishedAt());
+        verify(planningCacheService, timeout(1000)).put(request, planning);
+    }
+
+    @Test
+    void createJob_shouldCompleteImmediatelyFromCache() {
+        // Given
+        TournamentPlanningDTO cached = new TournamentPlanningDTO(List.of(), null);
+        when(planningCacheService.find(request)).thenReturn(Optional.of(cached));
+
+        // When
+        PlanningJobDTO job = planningJobService.createJob(request);
+
+        // Then
+        assertEquals(PlanningJobStatus.COMPLETED, job.getStatus());
+        assertSame(cached, job.getResult());
+        verify(tournamentService, never()).generatePlanning(any(), any(), any());
+    }
+
+    @Test
+    void createJob_shouldNotRegisterCachedJobWhenSaveFails() {
+        // Given
+        TournamentPlanningDTO cached = new TournamentPlanningDTO(List.of(), null);
+        when(planningCacheService.find(request)).thenReturn(Optional.of(cached));
+        when(planningService.savePlanning(request, cached)).thenThrow(new IllegalStateException("Database unavailable"));
+
+        // When / Then
+        assertThrows(IllegalStateException.class, () -> planningJobService.createJob(request));
+        verify(tournamentService, never()).generatePlanning(any(), any(), any());
+    }
+
+    @Test
+    void cancelJob_shouldStopRunningPlanning() throws InterruptedException {
+        // Given: a planning that runs until its token is cancelled
+        CountDownLatch started = new CountDownLatch(1);
+        when(tournamentService.generatePlanning(any(), any(), any())).thenAnswer(invocation -> {
+            CancellationToken token = invocation.getArgument(1);
+            started.countDown();
+            while (!token.isCancelled()) {
+                Thread.onSpinWait();
+            }
+            return new TournamentPlanningDTO(List.of(), null);
+        });
+        PlanningJobDTO created = planningJobService.createJob(request);
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // When
+        planningJobService.cancelJob(created.getId());
+
+        // Then: the best planning found before cancellation is kept
+        PlanningJobDTO finished = awaitFinished(created.getId());
+        assertEquals(PlanningJobStatus.CANCELLED, finished.getStatus());
+        assertNotNull(finished.getResult());
+        verify(planningCacheService, never()).put(any(), any()); // Partial result: not cached
+    }
+
+    @Test
+    void createJob_shouldNotCachePlanningStoppedByTimeBudget() throws InterruptedException {
+        // Given: a planning that runs until its time budget runs out
+        request.setTimeBudgetMs(50L);
+        when(tournamentService.generatePlanning(any(), any(), any())).thenAnswer(invocation -> {
+            CancellationToken token = invocation.getArgument(1);
+            while (!token.isCancelled()) {
+                Thread.onSpinWait();
+            }
+            return new TournamentPlanningDTO(List.of(), null);
+        });
+
+        // When
+        PlanningJobDTO finished = awaitFinished(planningJobService.createJob(request).getId());
+
+        // Then: a valid result, but its quality depends on the machine speed
+        assertEquals(PlanningJobStatus.COMPLETED, finished.getStatus());
+        assertNotNull(finished.getResult());
+        verify(planningCacheService, never()).put(any(), any());
+    }
+
+    @Test
+    void cancelJob_shouldSkipPendingJob() throws InterruptedException {
+        // Given: the only worker is busy
+        CountDownLatch release = new CountDownLatch(1);
+        when(tournamentService.generatePlanning(any(), any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return new TournamentPlanningDTO(List.of(), null);
+        });
+        PlanningJobDTO running = planningJobService.createJob(request);
+        PlanningJobDTO pending = planningJobService.createJob(request);
+
+        // When
+        PlanningJobDTO cancelled = planningJobService.cancelJob(pending.getId());
+
+        // Then: cancelled at once, its queue slot free for another job
+        assertEquals(PlanningJobStatus.CANCELLED, cancelled.getStatus());
+        assertNull(cancelled.getResult());
+        PlanningJobDTO next = planningJobService.createJob(request);
+        release.countDown();
+        assertEquals(PlanningJobStatus.COMPLETED, awaitFinished(running.getId()).getStatus());
+        assertEquals(PlanningJobStatus.COMPLETED, awaitFinished(next.getId()).getStatus());
+        assertEquals(PlanningJobStatus.CANCELLED, planningJobService.getJob(pending.getId()).getStatus());
+        verify(tournamentService, times(2)).generatePlanning(any(), any(), any());
+    }
+
+    @Test
+    void createJob_shouldRejectJobsBeyondQueueCapacity() {
+        // Given: one job running, one waiting
+        CountDownLatch release = new CountDownLatch(1);
+        lenient().when(tournamentService.generatePlanning(any(), any(), any())).thenAnswer(invocation -> {
+            release.await();
+            return new TournamentPlanningDTO(List.of(), null);
+        });
+        planningJobService.createJob(request);
+        planningJobService.createJob(request);
+
+        // When / Then
+        assertThrows(RejectedExecutionException.class, () -> planningJobService.createJob(request));
+        release.countDown();
+    }
+
+    @Test
+    void createJob_shouldReportFailure() throws InterruptedException {
+        // Given
+        when(tournamentService.generatePlanning(any(), any(), any()))
+                .thenThrow(new IllegalArgumentException("Consoles cannot seat every player in every session"));
+
+        // When
+        PlanningJobDTO finished = awaitFinished(planningJobService.createJob(request).getId());
+
+        // Then
+        assertEquals(PlanningJobStatus.FAILED, finished.getStatus());
+        assertEquals("Consoles cannot seat every player in every session", finished.getError());
+    }
+
+    @Test
+    void createJob_shouldReportErrorsAsFailure() throws InterruptedException {
+        // Given
+        when(tournamentService.generatePlanning(any(), any(), any())).thenThrow(new StackOverflowError());
+
+        // When
+        PlanningJobDTO finished = awaitFinished(planningJobService.createJob(request).getId());
+
+        // Then: the job does not stay RUNNING
+        assertEquals(PlanningJobStatus.FAILED, finished.getStatus());
+        assertEquals("StackOverflowError", finished.getError());
+        verify(planningCacheService, never()).put(any(), any());
+    }
+
+    @Test
+    void getJob_shouldThrowWhenUnknown() {
+        assertThrows(ResourceNotFoundException.class, () -> planningJobService.getJob("unknown"));
+    }
+
+    private PlanningJobDTO awaitFinished(String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        PlanningJobDTO job = planningJobService.getJob(id);
+        while (!job.getStatus().isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            job = planningJobService.getJob(id);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,177 @@
+package fr.eb.tournament.service;
+
+import fr.eb.tournament.config.PlanningLimitsProperties;
+import fr.eb.tournament.dto.*;
+import fr.eb.tournament.util.planning.Console;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for TournamentService.
+ */
+class TournamentServiceTest {
+
+    private final TournamentService tournamentService = new TournamentService(new PlanningLimitsProperties());
+
+    private static TournamentRequest request(int nbPlayers, ConsoleConfigDTO... consoles) {
+        TournamentRequest request = new TournamentRequest();
+        request.setPlayerIds(LongStream.rangeClosed(1, nbPlayers).boxed().toList());
+        request.setConsoles(List.of(consoles));
+        request.setNbRelances(1);
+        request.setNbIterationsParRelance(2_000);
+        request.setUseCache(false);
+        return request;
+    }
+
+    @Test
+    void toTournamentConfig_shouldDefaultGroupCountToNumberOfConsoles() {
+        // Given
+        TournamentRequest request = request(12, new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 4, 1));
+
+        // When
+        List<Console> consoles = tournamentService.toTournamentConfig(request).getConsoles();
+
+        // Then
+        assertEquals(2, consoles.get(0).getNbGroupes());
+        assertEquals(1, consoles.get(1).getNbGroupes());
+    }
+
+    @Test
+    void toTournamentConfig_shouldRejectVisitedStatesCapacityAboveServerLimit() {
+        // Given
+        TournamentRequest request = request(12, new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 4));
+        request.setVisitedStatesCapacity(new PlanningLimitsProperties().getMaxVisitedStatesCapacity() + 1);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> tournamentService.toTournamentConfig(request));
+    }
+
+    @Test
+    void generatePlanning_shouldKeepGroupsWithinEachConsoleGroupCount() {
+        // Given: one single-group console next to larger ones, 4 players per console session
+        Map<Long, Integer> nbGroupes = Map.of(10L, 1, 20L, 3, 30L, 2);
+        TournamentRequest request = request(12, new ConsoleConfigDTO(10L, 4, 1), new ConsoleConfigDTO(20L, 3, 3),
+                new ConsoleConfigDTO(30L, 4, 2));
+
+        // When
+        TournamentPlanningDTO planning = tournamentService.generatePlanning(request);
+
+        // Then
+        for (TournamentPlanningDTO.SessionDTO session : planning.getSessions()) {
+            Set<Long> players = new HashSet<>();
+            for (TournamentPlanningDTO.ConsoleSessionDTO console : session.getConsoles()) {
+                for (TournamentPlanningDTO.GroupeDTO groupe : console.getGroupes()) {
+                    assertTrue(groupe.getGroupeNumber() <= nbGroupes.get(console.getConsoleId()));
+                    players.addAll(groupe.getPlayerIds());
+                }
+            }
+            assertEquals(12, players.size());
+        }
+    }
+
+    @Test
+    void generatePlanning_shouldAddSessionsForConsoleThatIsTooSmall() {
+        // Given: console 10 seats 4 of the 15 players per session
+        TournamentRequest request = request(15, new ConsoleConfigDTO(10L, 4, 1), new ConsoleConfigDTO(20L, 4, 3),
+                new ConsoleConfigDTO(30L, 4, 2));
+
+        // When
+        TournamentPlanningDTO planning = tournamentService.generatePlanning(request);
+
+        // Then: 4 sessions, everyone plays each console once and sits one session out
+        assertEquals(4, planning.getSessions().size());
+        Map<Long, Set<Long>> consolesPlayed = new HashMap<>();
+        for (TournamentPlanningDTO.SessionDTO session : planning.getSessions()) {
+            Set<Long> players = new HashSet<>();
+            for (TournamentPlanningDTO.ConsoleSessionDTO console : session.getConsoles()) {
+                for (TournamentPlanningDTO.GroupeDTO groupe : console.getGroupes()) {
+                    for (Long playerId : groupe.getPlayerIds()) {
+                        assertTrue(players.add(playerId));
+                        assertTrue(consolesPlayed.computeIfAbsent(playerId, id -> new HashSet<>())
+                                .add(console.getConsoleId()));
+                    }
+                }
+            }
+        }
+        assertEquals(15, consolesPlayed.size());
+        consolesPlayed.values().forEach(consoles -> assertEquals(3, consoles.size()));
+    }
+
+    @Test
+    void generatePlanning_shouldNameConsoleThatIsTooSmall() {
+        // Given: 3 sessions requested, 5 players per console session, console 10 seats 4
+        TournamentRequest request = request(15, new ConsoleConfigDTO(10L, 4, 1), new ConsoleConfigDTO(20L, 4, 3),
+                new ConsoleConfigDTO(30L, 4, 2));
+        request.setNbSessions(3);
+
+        // When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> tournamentService.generatePlanning(request));
+
+        // Then
+        assertTrue(exception.getMessage().startsWith("Console 10 seats 4 players"), exception.getMessage());
+    }
+
+    @Test
+    void replanPlanning_shouldKeepPlayedSessionsAndReplaceWithdrawnPlayer() {
+        // Given: 2 of 4 sessions played, player 5 leaves and player 99 joins
+        ConsoleConfigDTO[] consoles = { new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 4),
+                new ConsoleConfigDTO(30L, 4), new ConsoleConfigDTO(40L, 4) };
+        TournamentPlanningDTO current = tournamentService.generatePlanning(request(16, consoles));
+        ReplanningRequest request = new ReplanningRequest();
+        request.setConsoles(List.of(consoles));
+        request.setNbPlayedSessions(2);
+        request.setWithdrawnPlayerIds(List.of(5L));
+        request.setNewPlayerIds(List.of(99L));
+
+        // When
+        TournamentPlanningDTO replanned = tournamentService.replanPlanning(current, request);
+
+        // Then
+        assertEquals(current.getSessions().subList(0, 2), replanned.getSessions().subList(0, 2));
+        for (TournamentPlanningDTO.SessionDTO session : replanned.getSessions().subList(2, 4)) {
+            List<Long> players = session.getConsoles().stream()
+                    .flatMap(console -> console.getGroupes().stream())
+                    .flatMap(groupe -> groupe.getPlayerIds().stream())
+                    .toList();
+            assertEquals(16, players.size());
+            assertFalse(players.contains(5L));
+            assertTrue(players.contains(99L));
+        }
+    }
+
+    @Test
+    void replanPlanning_shouldRejectUnknownWithdrawnPlayer() {
+        // Given
+        ConsoleConfigDTO[] consoles = { new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 4) };
+        TournamentPlanningDTO current = tournamentService.generatePlanning(request(8, consoles));
+        ReplanningRequest request = new ReplanningRequest();
+        request.setConsoles(List.of(consoles));
+        request.setNbPlayedSessions(1);
+        request.setWithdrawnPlayerIds(List.of(42L));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> tournamentService.replanPlanning(current, request));
+    }
+
+    @Test
+    void replanPlanning_shouldRejectSessionAndGroupNumbersOutOfRange() {
+        // Given: a duplicated session number, then a group number 0
+        ConsoleConfigDTO[] consoles = { new ConsoleConfigDTO(10L, 4), new ConsoleConfigDTO(20L, 4) };
+        TournamentPlanningDTO current = tournamentService.generatePlanning(request(8, consoles));
+        ReplanningRequest request = new ReplanningRequest();
+        request.setConsoles(List.of(consoles));
+        request.setNbPlayedSessions(1);
+        current.getSessions().get(1).setSessionNumber(1);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> tournamentService.replanPlanning(current, request));
+        current.getSessions().get(1).setSessionNumber(2);
+        current.getSessions().get(0).getConsoles().get(0).getGroupes().get(0).setGroupeNumber(0);
+        assertThrows(IllegalArgumentException.class, () -> tournamentService.replanPlanning(current, request));
+    }
+}
@@ -0,0 +1,90 @@
+package fr.eb.tournament.util.planning;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Incremental move scoring: the delta of a move must match a full
+ * rescoring of the planning once the move is applied.
+ */
+class IncrementalScoringTest {
+
+    private static final int NB_MOVES = 500;
+
+    private static TournamentConfig config(int nbJoueurs, int nbConsoles, int joueursParPartie, int nbGroupes) {
+        List<Console> consoles = new ArrayList<>();
+        for (int c = 0; c < nbConsoles; c++) {
+            consoles.add(new Console("Console " + (c + 1), joueursParPartie, nbGroupes));
+        }
+        return new TournamentConfig(nbJoueurs, 1, NB_MOVES, consoles, NB_MOVES, 1);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "36, 5, 4, 2", "16, 2, 4, 2", "23, 4, 3, 2" })
+    void deltaScore_shouldMatchFullRescoringForSwap1(int nbJoueurs, int nbConsoles, int joueursParPartie,
+            int nbGroupes) {
+        // Given
+        TournamentPlanningService service = new TournamentPlanningService(
+                config(nbJoueurs, nbConsoles, joueursParPartie, nbGroupes));
+        CompactPlanning planning = service.generateInitialPlanning();
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        SwapMove move = new SwapMove();
+        int nbMoves = 0;
+
+        for (int i = 0; i < NB_MOVES; i++) {
+            if (!service.proposeSwap1(planning, move)) {
+                continue;
+            }
+
+            // When: every drawn move is applied, improving or not
+            double scoreBefore = encounters.getScore();
+            double delta = service.deltaScore(planning, encounters, move);
+            service.applyMove(planning, encounters, move);
+            nbMoves++;
+
+            // Then
+            assertEquals(scoreBefore + delta, encounters.getScore());
+            assertEquals(service.calculateEncounters(planning).getScore(), encounters.getScore());
+        }
+        assertTrue(nbMoves > 0);
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "36, 4, 4, 3", "16, 2, 4, 2", "24, 4, 3, 2" })
+    void deltaScore_shouldMatchFullRescoringForSwap2(int nbJoueurs, int nbConsoles, int joueursParPartie,
+            int nbGroupes) {
+        // Given
+        TournamentPlanningService service = new TournamentPlanningService(
+                config(nbJoueurs, nbConsoles, joueursParPartie, nbGroupes));
+        CompactPlanning planning = service.generateInitialPlanning();
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        SwapMove move = new SwapMove();
+        int nbMoves = 0;
+
+        for (int i = 0; i < NB_MOVES; i++) {
+            // Swap1 moves too, so that swap2 finds partners beyond the initial rotation
+            boolean proposed = i % 2 == 0
+                    ? service.proposeSwap1(planning, move)
+                    : service.proposeSwap2(planning, encounters, i % 4 == 1, move);
+            if (!proposed) {
+                continue;
+            }
+
+            // When
+            double scoreBefore = encounters.getScore();
+            double delta = service.deltaScore(planning, encounters, move);
+            service.applyMove(planning, encounters, move);
+            nbMoves += move.getNbExchanges() > 1 ? 1 : 0;
+
+            // Then
+            assertEquals(scoreBefore + delta, encounters.getScore());
+            assertEquals(service.calculateEncounters(planning).getScore(), encounters.getScore());
+        }
+        assertTrue(nbMoves > 0);
+    }
+}
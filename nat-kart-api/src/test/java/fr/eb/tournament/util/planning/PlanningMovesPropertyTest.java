@@ -0,0 +1,167 @@
+package fr.eb.tournament.util.planning;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property tests for the planning move operators: on random configurations
+ * and random move sequences, swap1/swap2 must keep the planning valid (each
+ * player once per session and once per console) and the incremental state
+ * (encounters, seat index, Zobrist hash) must match a full recount. Repaired
+ * crossover children must be valid too.
+ */
+class PlanningMovesPropertyTest {
+
+    private static final int NB_CONFIGS = 100;
+    private static final int NB_MOVES = 1000;
+
+    /**
+     * Random configurations whose consoles can seat every player of a session.
+     */
+    static Stream<TournamentConfig> randomConfigs() {
+        Random random = new Random(42);
+        return IntStream.range(0, NB_CONFIGS).mapToObj(i -> {
+            int nbConsoles = 2 + random.nextInt(5);
+            int nbJoueurs = nbConsoles * 2 + random.nextInt(40);
+            int playersPerSession = (int) Math.ceil((double) nbJoueurs / nbConsoles);
+
+            List<Console> consoles = new ArrayList<>();
+            for (int c = 0; c < nbConsoles; c++) {
+                int joueursParPartie = 3 + random.nextInt(2);
+                int nbGroupes = (int) Math.ceil((double) playersPerSession / joueursParPartie) + random.nextInt(2);
+                consoles.add(new Console("Console " + (c + 1), joueursParPartie, nbGroupes));
+            }
+
+            return new TournamentConfig(nbJoueurs, 1, NB_MOVES, consoles, NB_MOVES, 1);
+        });
+    }
+
+    @ParameterizedTest
+    @MethodSource("randomConfigs")
+    void appliedMoves_shouldKeepPlanningValid(TournamentConfig config) {
+        // Given
+        TournamentPlanningService service = new TournamentPlanningService(config);
+        CompactPlanning planning = service.generateInitialPlanning();
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        SwapMove move = new SwapMove();
+        Random random = new Random(config.getNbJoueurs());
+        assertTrue(service.validatePlanning(planning));
+
+        // When: every drawn move is applied, improving or not
+        for (int i = 0; i < NB_MOVES; i++) {
+            boolean proposed = random.nextBoolean()
+                    ? service.proposeSwap1(planning, move)
+                    : service.proposeSwap2(planning, encounters, random.nextBoolean(), move);
+            if (proposed) {
+                service.applyMove(planning, encounters, move);
+            }
+
+            // Then
+            assertTrue(service.validatePlanning(planning), "Invalid planning after move " + i);
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("randomConfigs")
+    void deltaScore_shouldMatchFullRescoring(TournamentConfig config) {
+        // Given
+        TournamentPlanningService service = new TournamentPlanningService(config);
+        CompactPlanning planning = service.generateInitialPlanning();
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        SwapMove move = new SwapMove();
+        Random random = new Random(config.getNbJoueurs());
+
+        for (int i = 0; i < NB_MOVES / 10; i++) {
+            boolean proposed = random.nextBoolean()
+                    ? service.proposeSwap1(planning, move)
+                    : service.proposeSwap2(planning, encounters, random.nextBoolean(), move);
+            if (!proposed) {
+                continue;
+            }
+
+            // When
+            double scoreBefore = encounters.getScore();
+            double delta = service.deltaScore(planning, encounters, move);
+            long expectedHash = service.getPlanningHash(planning, move);
+            service.applyMove(planning, encounters, move);
+
+            // Then
+            assertEquals(scoreBefore + delta, encounters.getScore());
+            assertEquals(service.calculateEncounters(planning).getScore(), encounters.getScore());
+            assertEquals(expectedHash, service.getPlanningHash(planning));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("randomConfigs")
+    void appliedMoves_shouldKeepIncrementalStateInSync(TournamentConfig config) {
+        // Given
+        TournamentPlanningService service = new TournamentPlanningService(config);
+        CompactPlanning planning = service.generateInitialPlanning();
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        SwapMove move = new SwapMove();
+        Random random = new Random(config.getNbJoueurs());
+        double lowerBound = encounters.getLowerBound();
+
+        // When
+        for (int i = 0; i < NB_MOVES; i++) {
+            boolean proposed = random.nextBoolean()
+                    ? service.proposeSwap1(planning, move)
+                    : service.proposeSwap2(planning, encounters, random.nextBoolean(), move);
+            if (proposed) {
+                service.applyMove(planning, encounters, move);
+            }
+        }
+
+        // Then
+        for (int player = 1; player <= config.getNbJoueurs(); player++) {
+            for (int session = 0; session < config.getNbSessions(); session++) {
+                assertEquals(player, planning.playerAt(planning.slotOf(player, session)));
+            }
+        }
+        EncounterMatrix recount = service.calculateEncounters(planning);
+        assertEquals(recount.toMap(), encounters.toMap());
+        assertEquals(recount.getDistribution(), encounters.getDistribution());
+        assertEquals(planning.computeHash(), planning.getHash());
+        assertEquals(lowerBound, encounters.getLowerBound()); // Moves keep the group sizes
+        assertTrue(encounters.getScore() >= lowerBound);
+    }
+
+    @ParameterizedTest
+    @MethodSource("randomConfigs")
+    void crossover_shouldRepairChildrenIntoValidPlannings(TournamentConfig config) {
+        // Given: two parents moved apart by random swaps
+        TournamentPlanningService service = new TournamentPlanningService(config);
+        PlanningCrossover crossover = new PlanningCrossover(service);
+        SwapMove move = new SwapMove();
+        CompactPlanning parent1 = service.generateInitialPlanning();
+        CompactPlanning parent2 = service.generateInitialPlanning();
+        for (CompactPlanning parent : List.of(parent1, parent2)) {
+            EncounterMatrix encounters = service.calculateEncounters(parent);
+            for (int i = 0; i < NB_MOVES / 2; i++) {
+                if (service.proposeRandomSwap(parent, encounters, move)) {
+                    service.applyMove(parent, encounters, move);
+                }
+            }
+        }
+
+        for (int i = 0; i < 10; i++) {
+            // When
+            CompactPlanning child = crossover.cross(parent1, parent2);
+
+            // Then: an unrepairable child is dropped, never returned invalid
+            if (child != null) {
+                assertTrue(service.validatePlanning(child), "Invalid child " + i);
+                assertEquals(child.computeHash(), child.getHash());
+            }
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package fr.eb.tournament.util.planning;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the parallel restart optimizer.
+ */
+class PlanningOptimizerTest {
+
+    private static TournamentConfig config(int nbRelances, int nbIterations, int earlyStoppingThreshold) {
+        List<Console> consoles = List.of(
+                new Console("Console 1", 4, 3),
+                new Console("Console 2", 4, 3),
+                new Console("Console 3", 4, 3));
+        return new TournamentConfig(24, nbRelances, nbIterations, consoles, nbIterations, earlyStoppingThreshold);
+    }
+
+    @Test
+    void optimize_shouldReturnValidPlanningFromParallelRestarts() {
+        // Given
+        TournamentConfig config = config(8, 2000, 0);
+        config.setParallelism(4);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+
+        // Then
+        assertNotNull(planning);
+        assertTrue(service.validatePlanning(planning));
+        EncounterMatrix initial = service.calculateEncounters(service.generateInitialPlanning());
+        assertTrue(service.calculateEncounters(planning).getScore() <= initial.getScore());
+    }
+
+    @Test
+    void optimize_shouldStopOnceThresholdIsReached() {
+        // Given: a threshold every planning already meets
+        TournamentConfig config = config(50, 1_000_000, 3);
+
+        // When
+        long start = System.nanoTime();
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertNotNull(planning);
+        assertTrue(elapsedMs < 10_000, "Restarts were not cancelled: " + elapsedMs + " ms");
+    }
+
+    @ParameterizedTest
+    @EnumSource(OptimizationStrategy.class)
+    void optimize_shouldReturnBestPlanningWithinTimeBudget(OptimizationStrategy strategy) {
+        // Given: far more iterations than the budget allows
+        TournamentConfig config = config(4, Integer.MAX_VALUE, 0);
+        config.setStrategy(strategy);
+        config.setTimeBudgetMs(300);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        long start = System.nanoTime();
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertNotNull(planning);
+        assertTrue(service.validatePlanning(planning));
+        assertTrue(elapsedMs < 5_000, "Time budget exceeded: " + elapsedMs + " ms");
+    }
+
+    @ParameterizedTest
+    @EnumSource(OptimizationStrategy.class)
+    void optimize_shouldReturnSamePlanningForSameSeed(OptimizationStrategy strategy) {
+        // Given: parallel restarts, some of them reaching the threshold early
+        TournamentConfig config = config(4, 3000, 1);
+        config.setStrategy(strategy);
+        config.setParallelism(2);
+        config.setTemperingReplicas(2);
+        config.setGeneticIslands(2);
+        config.setGeneticPopulationSize(6);
+        config.setSeed(42L);
+
+        // When
+        CompactPlanning first = new PlanningOptimizer(config).optimize();
+        CompactPlanning second = new PlanningOptimizer(config).optimize();
+
+        // Then
+        assertEquals(first.toPlanning(), second.toPlanning());
+        assertEquals(first.getHash(), second.getHash());
+    }
+
+    @ParameterizedTest
+    @EnumSource(OptimizationStrategy.class)
+    void optimize_shouldKeepByesValid(OptimizationStrategy strategy) {
+        // Given: 30 players on consoles seating 8, so 4 sessions for 3 consoles
+        List<Console> consoles = List.of(
+                new Console("Console 1", 4, 2),
+                new Console("Console 2", 4, 2),
+                new Console("Console 3", 4, 2));
+        TournamentConfig config = new TournamentConfig(30, 2, 2000, consoles, 2000, 0);
+        config.setStrategy(strategy);
+        config.setParallelism(2);
+        config.setTemperingReplicas(2);
+        config.setGeneticIslands(2);
+        config.setGeneticPopulationSize(6);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+
+        // Then
+        assertEquals(4, service.getLayout().getNbSessions());
+        assertTrue(service.validatePlanning(planning));
+        EncounterMatrix initial = service.calculateEncounters(service.generateInitialPlanning());
+        assertTrue(service.calculateEncounters(planning).getScore() <= initial.getScore());
+    }
+
+    @Test
+    void optimize_shouldStopWhenTokenIsCancelled() throws InterruptedException {
+        // Given
+        TournamentConfig config = config(2, Integer.MAX_VALUE, 0);
+        CancellationToken token = new CancellationToken();
+        BestPlanningHolder best = new BestPlanningHolder();
+        Thread canceller = Thread.ofPlatform().start(() -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            token.cancel();
+        });
+
+        // When
+        CompactPlanning planning = new PlanningOptimizer(config).optimize(token, best);
+        canceller.join();
+
+        // Then: the holder kept the returned best planning
+        assertTrue(token.isCancelled());
+        assertNotNull(planning);
+        assertSame(best.getPlanning(), planning);
+        assertTrue(new TournamentPlanningService(config).validatePlanning(planning));
+    }
+
+    @Test
+    void optimize_shouldRethrowQuicklyWhenARestartFails() {
+        // Given: endless restarts, the second one fails at its first report
+        TournamentConfig config = config(2, Integer.MAX_VALUE, 0);
+        config.setStrategy(OptimizationStrategy.SIMULATED_ANNEALING);
+        config.setParallelism(2);
+        config.setDisplayInterval(1_000);
+        Consumer<PlanningProgress> listener = progress -> {
+            if (Thread.currentThread().getName().equals("planning-worker-2")) {
+                throw new IllegalStateException("Listener failure");
+            }
+        };
+
+        // When / Then: the first restart is stopped instead of running forever
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(
+                IllegalStateException.class,
+                () -> new PlanningOptimizer(config).optimize(new CancellationToken(), new BestPlanningHolder(),
+                        listener)));
+        assertEquals("Planning restart failed", e.getMessage());
+    }
+
+    @Test
+    void optimize_shouldReportProgressEveryDisplayInterval() {
+        // Given
+        TournamentConfig config = config(2, 5_000, 0);
+        config.setDisplayInterval(1_000);
+        config.setParallelism(1);
+        List<PlanningProgress> events = new ArrayList<>();
+        BestPlanningHolder best = new BestPlanningHolder();
+
+        // When
+        new PlanningOptimizer(config).optimize(new CancellationToken(), best, events::add);
+
+        // Then: iterations add up and the reported best never gets worse
+        assertFalse(events.isEmpty());
+        for (int i = 1; i < events.size(); i++) {
+            assertTrue(events.get(i).getIterations() >= events.get(i - 1).getIterations());
+            assertTrue(events.get(i).getBestScore() <= events.get(i - 1).getBestScore());
+        }
+        PlanningProgress last = events.getLast();
+        assertEquals(best.getScore(), last.getBestScore());
+        assertEquals(best.getEncounters().getMaxRencontres(), last.getMaxRencontres());
+        assertTrue(last.getIterations() <= 2 * 5_000);
+    }
+
+    @Test
+    void cancellationToken_shouldExpireAfterBudget() throws InterruptedException {
+        // Given
+        CancellationToken unlimited = new CancellationToken();
+        CancellationToken budgeted = new CancellationToken(50);
+
+        // When
+        Thread.sleep(100);
+
+        // Then
+        assertFalse(unlimited.isCancelled());
+        assertTrue(budgeted.isCancelled());
+    }
+
+    private static TournamentConfig config36Players(int nbRelances, int nbIterations, OptimizationStrategy strategy) {
+        // 36 players on 5 consoles of 2 groups of 4 (config.json)
+        List<Console> consoles = List.of(
+                new Console("SNES", 4, 2),
+                new Console("Wii", 4, 2),
+                new Console("N64", 4, 2),
+                new Console("Switch1", 4, 2),
+                new Console("Switch2", 4, 2));
+        TournamentConfig config = new TournamentConfig(36, nbRelances, nbIterations, consoles, nbIterations, 1);
+        config.setStrategy(strategy);
+        config.setConstructiveDesign(false); // Exercise the search, not the design
+        return config;
+    }
+
+    @Test
+    void simulatedAnnealing_shouldReachOneEncounterPerPairOn36Players() {
+        // Given
+        TournamentConfig config = config36Players(4, 20_000, OptimizationStrategy.SIMULATED_ANNEALING);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+
+        // Then
+        assertTrue(service.validatePlanning(planning));
+        assertEquals(1, service.calculateEncounters(planning).getMaxRencontres());
+    }
+
+    @Test
+    void lateAcceptance_shouldReachOneEncounterPerPairOn36Players() {
+        // Given
+        TournamentConfig config = config36Players(4, 10_000, OptimizationStrategy.LATE_ACCEPTANCE);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+
+        // Then
+        assertTrue(service.validatePlanning(planning));
+        assertEquals(1, service.calculateEncounters(planning).getMaxRencontres());
+    }
+
+    @Test
+    void tabu_shouldReachOneEncounterPerPairOn36Players() {
+        // Given
+        TournamentConfig config = config36Players(2, 500, OptimizationStrategy.TABU);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+
+        // Then
+        assertTrue(service.validatePlanning(planning));
+        assertEquals(1, service.calculateEncounters(planning).getMaxRencontres());
+    }
+
+    @Test
+    void parallelTempering_shouldReachOneEncounterPerPairOn36Players() {
+        // Given
+        TournamentConfig config = config36Players(2, 5_000, OptimizationStrategy.PARALLEL_TEMPERING);
+        config.setTemperingReplicas(4);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+
+        // Then
+        assertTrue(service.validatePlanning(planning));
+        assertEquals(1, service.calculateEncounters(planning).getMaxRencontres());
+    }
+
+    @Test
+    void genetic_shouldReachOneEncounterPerPairOn36Players() {
+        // Given
+        TournamentConfig config = config36Players(2, 20_000, OptimizationStrategy.GENETIC);
+        config.setGeneticIslands(2);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+
+        // Then
+        assertTrue(service.validatePlanning(planning));
+        assertEquals(1, service.calculateEncounters(planning).getMaxRencontres());
+    }
+
+    /**
+     * Service whose nth split (replica, island...) fails on its first move.
+     */
+    private static TournamentPlanningService failingOnSplit(TournamentConfig config, int failingSplit) {
+        AtomicInteger nbSplits = new AtomicInteger();
+        return new TournamentPlanningService(config) {
+            @Override
+            public TournamentPlanningService split() {
+                if (nbSplits.incrementAndGet() != failingSplit) {
+                    return super.split();
+                }
+                return new TournamentPlanningService(config) {
+                    @Override
+                    public boolean proposeRandomSwap(CompactPlanning planning, EncounterMatrix encounters,
+                            SwapMove move) {
+                        throw new IllegalStateException("Move failure");
+                    }
+                };
+            }
+        };
+    }
+
+    @Test
+    void parallelTempering_shouldRethrowQuicklyWhenAReplicaFails() {
+        // Given: one endless round, the second replica fails at once
+        TournamentConfig config = config36Players(1, 1_000_000_000, OptimizationStrategy.PARALLEL_TEMPERING);
+        config.setTemperingReplicas(4);
+        config.setTemperingExchangeInterval(1_000_000_000);
+        TournamentPlanningService service = failingOnSplit(config, 2);
+        CompactPlanning planning = service.generateInitialPlanning();
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        ParallelTempering tempering = new ParallelTempering(config, service);
+
+        // When / Then: the other replicas end their round early
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(
+                IllegalStateException.class,
+                () -> tempering.optimize(planning, encounters, new SearchMonitor(new CancellationToken()))));
+        assertEquals("Tempering replica failed", e.getMessage());
+    }
+
+    @Test
+    void genetic_shouldRethrowQuicklyWhenAnIslandFails() {
+        // Given: endless generations without migration, the second island fails at its first child
+        TournamentConfig config = config36Players(1, 1_000_000_000, OptimizationStrategy.GENETIC);
+        config.setGeneticIslands(4);
+        config.setGeneticPopulationSize(6);
+        config.setGeneticMigrationInterval(1_000_000_000);
+        TournamentPlanningService service = failingOnSplit(config, 2);
+        CompactPlanning planning = service.generateInitialPlanning();
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        IslandGeneticAlgorithm genetic = new IslandGeneticAlgorithm(config, service);
+
+        // When / Then: the other islands end their generations early
+        IllegalStateException e = assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(
+                IllegalStateException.class,
+                () -> genetic.optimize(planning, encounters, new SearchMonitor(new CancellationToken()))));
+        assertEquals("Genetic island failed", e.getMessage());
+    }
+
+    @Test
+    void optimize_shouldBuildDesignWithoutSearchWhenShapeMatches() {
+        // Given: 36 players on 5 consoles, the design seats them without repeats
+        TournamentConfig config = config36Players(1, 0, OptimizationStrategy.HILL_CLIMBING);
+        config.setConstructiveDesign(true);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When: no iteration at all
+        CompactPlanning planning = new PlanningOptimizer(config).optimize();
+
+        // Then
+        assertTrue(service.validatePlanning(planning));
+        assertEquals(1, service.calculateEncounters(planning).getMaxRencontres());
+    }
+
+    @Test
+    void getNbWorkers_shouldBeBoundedByRestarts() {
+        // Given
+        TournamentConfig config = config(2, 10, 1);
+        config.setParallelism(16);
+
+        // When / Then
+        assertEquals(2, new PlanningOptimizer(config).getNbWorkers());
+        config.setParallelism(1);
+        assertEquals(1, new PlanningOptimizer(config).getNbWorkers());
+        config.setParallelism(16);
+        config.setStrategy(OptimizationStrategy.PARALLEL_TEMPERING);
+        assertEquals(1, new PlanningOptimizer(config).getNbWorkers()); // Replicas use the cores
+    }
+}
@@ -0,0 +1,75 @@
+package fr.eb.tournament.util.planning;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the constructive zero-repeat plannings.
+ */
+class ResolvableDesignTest {
+
+    private static TournamentConfig config(int nbJoueurs, int nbConsoles, int joueursParPartie, int nbGroupes) {
+        List<Console> consoles = new ArrayList<>();
+        for (int c = 0; c < nbConsoles; c++) {
+            consoles.add(new Console("Console " + (c + 1), joueursParPartie, nbGroupes));
+        }
+        return new TournamentConfig(nbJoueurs, 1, 0, consoles, 1, 1);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "36, 5, 4, 2", // config.json
+            "40, 5, 4, 2", // Every seat taken
+            "20, 5, 4, 1",
+            "13, 5, 4, 1",
+            "6, 3, 2, 1",
+            "18, 3, 3, 3",
+            "42, 7, 6, 1",
+            "100, 7, 6, 3",
+            "4, 2, 1, 2",
+            "220, 11, 10, 2"
+    })
+    void build_shouldSeatEveryoneWithoutRepeatedEncounter(int nbJoueurs, int nbConsoles, int joueursParPartie,
+            int nbGroupes) {
+        // Given
+        TournamentConfig config = config(nbJoueurs, nbConsoles, joueursParPartie, nbGroupes);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+        assertTrue(ResolvableDesign.applies(config));
+
+        // When
+        CompactPlanning planning = ResolvableDesign.build(config, service);
+
+        // Then
+        assertTrue(service.validatePlanning(planning));
+        assertTrue(service.calculateEncounters(planning).getMaxRencontres() <= 1);
+        assertEquals(planning.computeHash(), planning.getHash());
+    }
+
+    @Test
+    void applies_shouldRejectShapesWithoutDesign() {
+        // Non-prime number of consoles
+        assertFalse(ResolvableDesign.applies(config(12, 4, 3, 1)));
+        // Groups smaller than q - 1
+        assertFalse(ResolvableDesign.applies(config(20, 5, 3, 2)));
+        // More players than nbGroupes × q × (q - 1)
+        assertFalse(ResolvableDesign.applies(config(41, 5, 4, 2)));
+        // 16 players on 2 consoles (TournamentMakerTest): groups of 1 only
+        assertFalse(ResolvableDesign.applies(config(16, 2, 4, 2)));
+    }
+
+    @Test
+    void build_shouldThrowWhenNoDesignApplies() {
+        // Given
+        TournamentConfig config = config(12, 4, 3, 1);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ResolvableDesign.build(config, service));
+    }
+}
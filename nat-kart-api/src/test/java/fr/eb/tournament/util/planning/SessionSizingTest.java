@@ -0,0 +1,66 @@
+package fr.eb.tournament.util.planning;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the number of sessions and the cyclic layout.
+ */
+class SessionSizingTest {
+
+    @Test
+    void minimumSessions_shouldBeNumberOfConsolesWhenCapacityIsEnough() {
+        // Given: 36 players, 5 consoles seating 8
+        List<Console> consoles = List.of(new Console("A", 4, 2), new Console("B", 4, 2), new Console("C", 4, 2),
+                new Console("D", 4, 2), new Console("E", 4, 2));
+
+        // When / Then
+        assertEquals(5, SessionSizing.minimumSessions(36, consoles));
+    }
+
+    @Test
+    void minimumSessions_shouldAddSessionsForTheSmallestConsole() {
+        // Given: 15 players, a console seating 4 next to larger ones
+        List<Console> consoles = List.of(new Console("A", 4, 1), new Console("B", 4, 3), new Console("C", 4, 2));
+
+        // When / Then
+        assertEquals(4, SessionSizing.minimumSessions(15, consoles));
+    }
+
+    @Test
+    void minimumSessions_shouldRejectConsoleSeatingNobody() {
+        // Given
+        List<Console> consoles = List.of(new Console("A", 4, 1), new Console("B", 0, 2));
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> SessionSizing.minimumSessions(10, consoles));
+    }
+
+    @Test
+    void cyclicLayout_shouldSeatEveryBlockOnEveryConsoleOnce() {
+        // Given
+        int nbConsoles = 3;
+        int nbSessions = 5;
+        int[] sizes = SessionSizing.blockSizes(23, nbSessions);
+
+        // When / Then: balanced blocks, each console hosts a distinct block per session
+        assertArrayEquals(new int[] { 5, 5, 5, 4, 4 }, sizes);
+        for (int block = 0; block < nbSessions; block++) {
+            boolean[] sessionsPlayed = new boolean[nbSessions];
+            int nbGames = 0;
+            for (int c = 0; c < nbConsoles; c++) {
+                for (int s = 0; s < nbSessions; s++) {
+                    if (SessionSizing.blockOf(c, s, nbSessions) == block) {
+                        assertFalse(sessionsPlayed[s]);
+                        sessionsPlayed[s] = true;
+                        nbGames++;
+                    }
+                }
+            }
+            assertEquals(nbConsoles, nbGames);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package fr.eb.tournament.util.planning;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the initial planning generation and the stopping criterion.
+ */
+class TournamentPlanningServiceTest {
+
+    private static TournamentConfig config(int nbJoueurs, int nbConsoles, int joueursParPartie, int nbGroupes,
+            InitialPlanningMode mode) {
+        List<Console> consoles = new ArrayList<>();
+        for (int c = 0; c < nbConsoles; c++) {
+            consoles.add(new Console("Console " + (c + 1), joueursParPartie, nbGroupes));
+        }
+        TournamentConfig config = new TournamentConfig(nbJoueurs, 1, 0, consoles, 1, 1);
+        config.setInitialPlanningMode(mode);
+        return config;
+    }
+
+    @ParameterizedTest
+    @CsvSource({ "36, 5, 4, 2", "16, 2, 4, 2", "24, 4, 3, 2", "60, 6, 4, 3", "100, 4, 5, 5", "7, 3, 3, 1" })
+    void greedyInitialPlanning_shouldBeValid(int nbJoueurs, int nbConsoles, int joueursParPartie, int nbGroupes) {
+        // Given
+        TournamentConfig config = config(nbJoueurs, nbConsoles, joueursParPartie, nbGroupes,
+                InitialPlanningMode.GREEDY);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        CompactPlanning planning = service.generateInitialPlanning();
+
+        // Then
+        assertTrue(service.validatePlanning(planning));
+    }
+
+    @Test
+    void greedyInitialPlanning_shouldStartWithFewerRepeatsThanRandom() {
+        // Given: 36 players on 5 consoles of 2 groups of 4 (config.json)
+        TournamentPlanningService random = new TournamentPlanningService(
+                config(36, 5, 4, 2, InitialPlanningMode.RANDOM));
+        TournamentPlanningService greedy = new TournamentPlanningService(
+                config(36, 5, 4, 2, InitialPlanningMode.GREEDY));
+
+        // When
+        double randomScore = random.calculateEncounters(random.generateInitialPlanning()).getScore();
+        double greedyScore = greedy.calculateEncounters(greedy.generateInitialPlanning()).getScore();
+
+        // Then
+        assertTrue(greedyScore < randomScore, greedyScore + " >= " + randomScore);
+    }
+
+    @Test
+    void greedyInitialPlanning_shouldDifferBetweenCalls() {
+        // Given
+        TournamentPlanningService service = new TournamentPlanningService(
+                config(36, 5, 4, 2, InitialPlanningMode.GREEDY));
+
+        // When / Then: random tie-breaking keeps restarts diverse
+        assertNotEquals(service.generateInitialPlanning().getHash(), service.generateInitialPlanning().getHash());
+    }
+
+    @Test
+    void lowerBound_shouldSpreadPairMeetingsEvenly() {
+        // Given: 4 players, 5 meetings over 6 pairs
+        EncounterMatrix encounters = new EncounterMatrix(4);
+        encounters.increment(1, 2);
+        encounters.increment(1, 2);
+        encounters.increment(1, 3);
+        encounters.increment(2, 3);
+        encounters.increment(3, 4);
+
+        // When / Then: best case is 5 pairs meeting once
+        assertEquals(5 * EncounterMatrix.PENALTY_FACTOR, encounters.getLowerBound());
+        assertEquals(11 * EncounterMatrix.PENALTY_FACTOR, encounters.getScore()); // 2³ + 3 × 1³
+
+        // 8 meetings over 6 pairs: 2 pairs twice, 4 pairs once
+        encounters.increment(1, 4);
+        encounters.increment(2, 4);
+        encounters.increment(1, 4);
+        assertEquals((2 * 8 + 4) * EncounterMatrix.PENALTY_FACTOR, encounters.getLowerBound());
+    }
+
+    @Test
+    void isStopReached_shouldStopAtLowerBoundEvenBelowThreshold() {
+        // Given: a zero-repeat design, with a threshold no planning can reach
+        TournamentConfig config = config(36, 5, 4, 2, InitialPlanningMode.RANDOM);
+        config.setEarlyStoppingThreshold(0);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+        EncounterMatrix design = service.calculateEncounters(ResolvableDesign.build(config, service));
+        EncounterMatrix initial = service.calculateEncounters(service.generateInitialPlanning());
+
+        // When / Then
+        assertTrue(service.isStopReached(design));
+        assertEquals(0, design.toScoreResult().getOptimalityGap());
+        assertFalse(service.isStopReached(initial));
+        assertTrue(initial.toScoreResult().getOptimalityGap() > 0);
+    }
+
+    @Test
+    void proposeRandomSwap_shouldNeverMoveFrozenSessions() {
+        // Given: the first 2 of 5 sessions are played
+        TournamentConfig config = config(36, 5, 4, 2, InitialPlanningMode.RANDOM);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+        service.setNbFrozenSessions(2);
+        CompactPlanning planning = service.generateInitialPlanning();
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        PlanningLayout layout = service.getLayout();
+        SwapMove move = new SwapMove();
+        int nbMoves = 0;
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            if (service.proposeRandomSwap(planning, encounters, move)) {
+                for (int e = 0; e < move.getNbExchanges(); e++) {
+                    // Then
+                    assertTrue(layout.sessionOfGroup(layout.groupOfSlot(move.getSlotA(e))) >= 2);
+                    assertTrue(layout.sessionOfGroup(layout.groupOfSlot(move.getSlotB(e))) >= 2);
+                }
+                service.applyMove(planning, encounters, move);
+                nbMoves++;
+            }
+        }
+        assertTrue(nbMoves > 0);
+        assertTrue(service.validatePlanning(planning));
+    }
+
+    @Test
+    void proposeRandomSwap_shouldKeepByesValid() {
+        // Given: 30 players on 3 consoles seating 8, 4 sessions with byes
+        TournamentConfig config = config(30, 3, 4, 2, InitialPlanningMode.RANDOM);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+        CompactPlanning planning = service.generateInitialPlanning();
+        EncounterMatrix encounters = service.calculateEncounters(planning);
+        SwapMove move = new SwapMove();
+        int nbByeSwaps = 0;
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            if (service.proposeByeSwap(planning, move)) {
+                service.applyMove(planning, encounters, move);
+                nbByeSwaps++;
+            }
+            if (service.proposeRandomSwap(planning, encounters, move)) {
+                service.applyMove(planning, encounters, move);
+            }
+        }
+
+        // Then
+        assertEquals(4, config.getNbSessions());
+        assertTrue(nbByeSwaps > 0);
+        assertTrue(service.validatePlanning(planning));
+        assertEquals(service.calculateEncounters(planning).getScore(), encounters.getScore());
+    }
+}
@@ -0,0 +1,130 @@
+package fr.eb.tournament.util.planning;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the bounded visited-state stores.
+ */
+class VisitedStatesTest {
+
+    @Test
+    void hashSet_shouldDetectDuplicatesAndClearAtCapacity() {
+        // Given
+        CappedLongHashSet visited = new CappedLongHashSet(3);
+
+        // When / Then
+        assertTrue(visited.add(0L));
+        assertFalse(visited.add(0L));
+        assertTrue(visited.add(42L));
+        assertTrue(visited.add(-7L));
+        assertFalse(visited.add(42L));
+        assertEquals(3, visited.size());
+
+        assertTrue(visited.add(99L)); // Cap reached: memory restarts with this hash
+        assertEquals(1, visited.size());
+        assertTrue(visited.add(42L));
+    }
+
+    @Test
+    void hashSet_shouldGrowWithoutLosingHashes() {
+        // Given
+        CappedLongHashSet visited = new CappedLongHashSet(100_000);
+        Random random = new Random(1);
+        long[] hashes = random.longs(50_000).toArray();
+
+        // When
+        for (long hash : hashes) {
+            visited.add(hash);
+        }
+
+        // Then
+        for (long hash : hashes) {
+            assertFalse(visited.add(hash));
+        }
+        assertEquals(50_000, visited.size());
+    }
+
+    @Test
+    void lruRing_shouldRememberExactlyTheMostRecentlySeenHashes() {
+        // Given: reference model of the N most recently seen distinct hashes
+        int capacity = 500;
+        LruRingVisitedStates visited = new LruRingVisitedStates(capacity);
+        LinkedHashSet<Long> expected = new LinkedHashSet<>(); // Least recent first
+        Random random = new Random(2);
+
+        for (int i = 0; i < 200_000; i++) {
+            long hash = random.nextInt(2_000); // Many repeats and evictions
+
+            // When
+            boolean added = visited.add(hash);
+
+            // Then
+            assertEquals(!expected.contains(hash), added);
+            if (!expected.remove(hash) && expected.size() == capacity) {
+                expected.remove(expected.iterator().next());
+            }
+            expected.add(hash);
+        }
+        assertEquals(capacity, visited.size());
+    }
+
+    @Test
+    void lruRing_shouldKeepAHashThatKeepsBeingSeen() {
+        // Given
+        LruRingVisitedStates visited = new LruRingVisitedStates(3);
+        visited.add(1L);
+        visited.add(2L);
+        visited.add(3L);
+
+        // When: 1 is seen again before 4 evicts the least recent hash
+        visited.add(1L);
+        visited.add(4L);
+
+        // Then
+        assertFalse(visited.add(1L));
+        assertTrue(visited.add(2L));
+    }
+
+    @Test
+    void bloom_shouldKeepFalsePositiveRateNearTarget() {
+        // Given
+        int expectedStates = 100_000;
+        BloomVisitedStates visited = new BloomVisitedStates(expectedStates, 0.01);
+        Random random = new Random(3);
+
+        // When
+        for (int i = 0; i < expectedStates; i++) {
+            visited.add(random.nextLong());
+        }
+        int nbProbes = 10_000;
+        int falsePositives = 0;
+        for (int i = 0; i < nbProbes; i++) {
+            if (!visited.add(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+
+        // Then: probes also fill the filter a little, so allow some margin
+        assertTrue(falsePositives < nbProbes * 0.02, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void create_shouldFollowConfiguredMode() {
+        // Given
+        TournamentConfig config = new TournamentConfig();
+        config.setVisitedStatesCapacity(10);
+
+        // When / Then
+        config.setVisitedStatesMode(VisitedStatesMode.HASH_SET);
+        assertInstanceOf(CappedLongHashSet.class, VisitedStates.create(config));
+        config.setVisitedStatesMode(VisitedStatesMode.LRU_RING);
+        assertInstanceOf(LruRingVisitedStates.class, VisitedStates.create(config));
+        config.setVisitedStatesMode(VisitedStatesMode.BLOOM);
+        assertInstanceOf(BloomVisitedStates.class, VisitedStates.create(config));
+    }
+}
@@ -0,0 +1,183 @@
+package fr.eb.tournament.util.planning;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the warm-start re-planning of unplayed sessions.
+ */
+class WarmStartReplannerTest {
+
+    /**
+     * 24 players on 4 consoles of 4 players, plus room for nbNewPlayers.
+     */
+    private static TournamentConfig config(int nbNewPlayers) {
+        List<Console> consoles = new ArrayList<>();
+        for (int c = 0; c < 4; c++) {
+            consoles.add(new Console("Console " + (c + 1), 4, 4));
+        }
+        TournamentConfig config = new TournamentConfig(24 + nbNewPlayers, 1, 2_000, consoles, 2_000, 1);
+        config.setStrategy(OptimizationStrategy.LATE_ACCEPTANCE);
+        config.setParallelism(1);
+        return config;
+    }
+
+    /**
+     * A valid planning of the 24 players, laid out for the larger config.
+     */
+    private static CompactPlanning currentPlanning(TournamentConfig config) {
+        CompactPlanning optimized = new PlanningOptimizer(config(0)).optimize();
+        CompactPlanning current = new CompactPlanning(new PlanningLayout(config));
+        Planning planning = optimized.toPlanning();
+        for (int c = 0; c < config.getConsoles().size(); c++) {
+            for (int s = 0; s < config.getNbSessions(); s++) {
+                List<List<Integer>> groupes = planning.getSessionGroupes(config.getConsoles().get(c).getNom(), s);
+                for (int g = 0; g < groupes.size(); g++) {
+                    for (int player : groupes.get(g)) {
+                        current.addPlayer(c, s, g, player);
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    @Test
+    void replan_shouldKeepPlayedSessionsAndSeatNewPlayersInTheOthers() {
+        // Given: 2 sessions played, players 3 and 7 leave, players 25 to 27 join
+        TournamentConfig config = config(3);
+        CompactPlanning current = currentPlanning(config);
+        WarmStartReplanner replanner = new WarmStartReplanner(config);
+
+        // When
+        long start = System.nanoTime();
+        CompactPlanning replanned = replanner.replan(current, 2, Set.of(3, 7), List.of(25, 26, 27),
+                new CancellationToken(500));
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertTrue(replanner.isValid(replanned, current, 2, Set.of(3, 7)));
+        assertTrue(elapsedMs < 1_000, "Re-planning took " + elapsedMs + " ms");
+        for (int s = 0; s < config.getNbSessions(); s++) {
+            boolean played = s < 2;
+            assertEquals(played, replanned.slotOf(3, s) >= 0);
+            assertEquals(played, replanned.slotOf(7, s) >= 0);
+            for (int player = 25; player <= 27; player++) {
+                assertEquals(!played, replanned.slotOf(player, s) >= 0);
+            }
+        }
+    }
+
+    @Test
+    void replan_shouldNotLeaveAPlayerAloneAfterWithdrawals() {
+        // Given: 2 of the 3 players of a group of the last session leave
+        TournamentConfig config = config(0);
+        CompactPlanning current = currentPlanning(config);
+        Set<Integer> withdrawn = Set.of(current.getPlayer(0, 3, 0, 0), current.getPlayer(0, 3, 0, 1));
+        WarmStartReplanner replanner = new WarmStartReplanner(config);
+
+        // When
+        CompactPlanning replanned = replanner.replan(current, 2, withdrawn, List.of(), new CancellationToken(500));
+
+        // Then: the 4 players left on console 1 play in one group, as an initial planning would
+        assertTrue(replanner.isValid(replanned, current, 2, withdrawn));
+        assertEquals(4, replanned.getGroupSize(0, 3, 0));
+        assertEquals(0, replanned.getGroupSize(0, 3, 1));
+        for (int c = 0; c < config.getConsoles().size(); c++) {
+            for (int s = 2; s < config.getNbSessions(); s++) {
+                for (int g = 0; g < config.getConsoles().get(c).getNbGroupes(); g++) {
+                    assertNotEquals(1, replanned.getGroupSize(c, s, g));
+                }
+            }
+        }
+    }
+
+    @Test
+    void replan_shouldNotWorsenThePlanningWithoutChanges() {
+        // Given
+        TournamentConfig config = config(0);
+        CompactPlanning current = currentPlanning(config);
+        TournamentPlanningService service = new TournamentPlanningService(config);
+
+        // When
+        CompactPlanning replanned = new WarmStartReplanner(config).replan(current, 1, Set.of(), List.of(),
+                new CancellationToken(500));
+
+        // Then: the search starts from the current planning and keeps its best
+        assertTrue(service.calculateEncounters(replanned).getScore()
+                <= service.calculateEncounters(current).getScore());
+    }
+
+    @Test
+    void replan_shouldRejectPlanningWithNoSessionLeft() {
+        // Given
+        TournamentConfig config = config(0);
+        CompactPlanning current = currentPlanning(config);
+        WarmStartReplanner replanner = new WarmStartReplanner(config);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class,
+                () -> replanner.replan(current, 4, Set.of(), List.of(), new CancellationToken()));
+    }
+
+    @Test
+    void replan_shouldRejectNewPlayersWithoutRoom() {
+        // Given: every console session already full (2 groups of 4)
+        TournamentConfig config = config(0);
+        config.getConsoles().replaceAll(console -> new Console(console.getNom(), 4, 2));
+        config.setNbJoueurs(33);
+        config.setNbSessions(4);
+        CompactPlanning current = new CompactPlanning(new PlanningLayout(config));
+        for (int c = 0; c < 4; c++) {
+            for (int s = 0; s < 4; s++) {
+                for (int i = 0; i < 8; i++) {
+                    current.addPlayer(c, s, i / 4, ((c + s) % 4) * 8 + i + 1);
+                }
+            }
+        }
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new WarmStartReplanner(config)
+                .replan(current, 1, Set.of(), List.of(33), new CancellationToken()));
+    }
+
+    @Test
+    void replan_shouldSeatNewPlayerOncePerConsoleWithByes() {
+        // Given: 20 players on 3 consoles seating 6, 4 sessions; player 21 joins after the first one
+        List<Console> consoles = List.of(new Console("Console 1", 3, 2), new Console("Console 2", 3, 2),
+                new Console("Console 3", 3, 2));
+        TournamentConfig config = new TournamentConfig(21, 1, 2_000, consoles, 2_000, 1);
+        config.setNbSessions(4);
+        TournamentConfig currentConfig = new TournamentConfig(20, 1, 0, consoles, 1, 1);
+        currentConfig.setNbSessions(4);
+        Planning played = new TournamentPlanningService(currentConfig).generateInitialPlanning().toPlanning();
+        CompactPlanning current = new CompactPlanning(new PlanningLayout(config));
+        for (int c = 0; c < consoles.size(); c++) {
+            for (int s = 0; s < 4; s++) {
+                List<List<Integer>> groupes = played.getSessionGroupes(consoles.get(c).getNom(), s);
+                for (int g = 0; g < groupes.size(); g++) {
+                    for (int player : groupes.get(g)) {
+                        current.addPlayer(c, s, g, player);
+                    }
+                }
+            }
+        }
+        WarmStartReplanner replanner = new WarmStartReplanner(config);
+
+        // When
+        CompactPlanning replanned = replanner.replan(current, 1, Set.of(), List.of(21), new CancellationToken(500));
+
+        // Then: 3 games in the 3 remaining sessions, one per console
+        assertTrue(replanner.isValid(replanned, current, 1, Set.of()));
+        int nbGames = 0;
+        for (int s = 1; s < 4; s++) {
+            nbGames += replanned.slotOf(21, s) >= 0 ? 1 : 0;
+        }
+        assertEquals(3, nbGames);
+    }
+}